@@ -0,0 +1,62 @@
+package com.torresj.footballteammanagementapi.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+  /**
+   * Password hashing is CPU bound, so it runs on its own pool sized to the number of CPUs. Once the
+   * queue is full new work is rejected instead of piling up on request threads.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor passwordHashingExecutor(
+      @Value("${password.hashing.pool-size:0}") int poolSize,
+      @Value("${password.hashing.queue-capacity:100}") int queueCapacity) {
+    int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("password-hashing-");
+    executor.setCorePoolSize(threads);
+    executor.setMaxPoolSize(threads);
+    executor.setQueueCapacity(queueCapacity);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Writes streamed responses such as exports, so a slow client holds one of these threads instead
+   * of a request thread.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor streamingExecutor(
+      @Value("${streaming.pool-size:4}") int poolSize,
+      @Value("${streaming.queue-capacity:20}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("streaming-");
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Renders report jobs. Reports are slow and memory hungry, so only a couple run at a time and
+   * jobs beyond the queue are rejected.
+   */
+  @Bean
+  public ThreadPoolTaskExecutor reportExecutor(
+      @Value("${reports.jobs.pool-size:2}") int poolSize,
+      @Value("${reports.jobs.queue-capacity:20}") int queueCapacity) {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setThreadNamePrefix("report-");
+    executor.setCorePoolSize(poolSize);
+    executor.setMaxPoolSize(poolSize);
+    executor.setQueueCapacity(queueCapacity);
+    executor.initialize();
+    return executor;
+  }
+}
@@ -83,4 +83,85 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     log.error(e.toString());
     return problemDetail;
   }
+
+  @ExceptionHandler(ServerBusyException.class)
+  ProblemDetail serverBusyException(ServerBusyException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    problemDetail.setTitle("Too many requests");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(InvalidCursorException.class)
+  ProblemDetail invalidCursorException(InvalidCursorException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    problemDetail.setTitle("Invalid cursor");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(SeasonAlreadyClosedException.class)
+  ProblemDetail seasonAlreadyClosedException(SeasonAlreadyClosedException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    problemDetail.setTitle("Season already closed");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(InvalidSeasonStartException.class)
+  ProblemDetail invalidSeasonStartException(InvalidSeasonStartException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    problemDetail.setTitle("Invalid season start");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(UnsupportedReportFormatException.class)
+  ProblemDetail unsupportedReportFormatException(UnsupportedReportFormatException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    problemDetail.setTitle("Unsupported report format");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(InvalidReportParametersException.class)
+  ProblemDetail invalidReportParametersException(InvalidReportParametersException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    problemDetail.setTitle("Invalid report parameters");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(ReportJobNotFoundException.class)
+  ProblemDetail reportJobNotFoundException(ReportJobNotFoundException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    problemDetail.setTitle("Report Job Not Found");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(ReportJobNotReadyException.class)
+  ProblemDetail reportJobNotReadyException(ReportJobNotReadyException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, e.getMessage());
+    problemDetail.setTitle("Report job not finished");
+    log.error(e.toString());
+    return problemDetail;
+  }
+
+  @ExceptionHandler(SeasonNotFoundException.class)
+  ProblemDetail seasonNotFoundException(SeasonNotFoundException e) {
+    ProblemDetail problemDetail =
+            ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    problemDetail.setTitle("Season Not Found");
+    log.error(e.toString());
+    return problemDetail;
+  }
 }
@@ -1,17 +1,61 @@
 package com.torresj.footballteammanagementapi.configs;
 
 import com.torresj.footballteammanagementapi.interceptors.LoggerInterceptor;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.convert.converter.ConverterFactory;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 @EnableWebMvc
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+  @Qualifier("streamingExecutor")
+  private final ThreadPoolTaskExecutor streamingExecutor;
+
+  @Value("${streaming.timeout:600000}")
+  private final long streamingTimeout;
+
   @Override
   public void addInterceptors(InterceptorRegistry registry) {
     registry.addInterceptor(new LoggerInterceptor());
   }
+
+  @Override
+  public void addFormatters(FormatterRegistry registry) {
+    registry.addConverterFactory(new CaseInsensitiveEnumConverterFactory());
+  }
+
+  @Override
+  public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+    configurer.setTaskExecutor(streamingExecutor);
+    configurer.setDefaultTimeout(streamingTimeout);
+  }
+
+  /** Binds request params such as ?format=csv to their upper case enum constants. */
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  private static class CaseInsensitiveEnumConverterFactory implements ConverterFactory<String, Enum> {
+
+    @Override
+    public <T extends Enum> Converter<String, T> getConverter(Class<T> targetType) {
+      Class<?> enumType = targetType;
+      while (enumType != null && !enumType.isEnum()) {
+        enumType = enumType.getSuperclass();
+      }
+      Class enumClass = enumType;
+      return source -> source.isBlank()
+          ? null
+          : (T) Enum.valueOf(enumClass, source.trim().toUpperCase(Locale.ROOT));
+    }
+  }
 }
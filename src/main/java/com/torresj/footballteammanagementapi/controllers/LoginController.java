@@ -2,6 +2,7 @@ package com.torresj.footballteammanagementapi.controllers;
 
 import com.torresj.footballteammanagementapi.dtos.RequestLoginDto;
 import com.torresj.footballteammanagementapi.dtos.ResponseLoginDto;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
 import com.torresj.footballteammanagementapi.services.LoginService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -40,7 +41,8 @@ public class LoginController {
                   schema = @Schema(implementation = ResponseLoginDto.class))
             }),
         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
-        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
+        @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+        @ApiResponse(responseCode = "429", description = "Too many requests", content = @Content)
       })
   @PostMapping
   ResponseEntity<ResponseLoginDto> login(
@@ -49,7 +51,8 @@ public class LoginController {
               required = true,
               content = @Content(schema = @Schema(implementation = RequestLoginDto.class)))
           @RequestBody
-          RequestLoginDto loginDto) {
+          RequestLoginDto loginDto)
+      throws ServerBusyException {
     try {
       log.info("[LOGIN] Attempt to login for " + loginDto.username());
       ResponseLoginDto response =
@@ -57,6 +60,8 @@ public class LoginController {
       log.debug(response.jwt());
       log.info("[LOGIN] Login success");
       return ResponseEntity.ok(response);
+    } catch (ServerBusyException e) {
+      throw e;
     } catch (Exception e) {
       log.error(e.getMessage());
       throw new ResponseStatusException(HttpStatus.FORBIDDEN, "User or password incorrect");
@@ -1,10 +1,15 @@
 package com.torresj.footballteammanagementapi.controllers;
 
 import com.torresj.footballteammanagementapi.dtos.*;
+import com.torresj.footballteammanagementapi.enums.DataFormat;
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
 import com.torresj.footballteammanagementapi.exceptions.MemberAlreadyExistsException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
+import com.torresj.footballteammanagementapi.services.MemberImportService;
 import com.torresj.footballteammanagementapi.services.MemberService;
 import com.torresj.footballteammanagementapi.services.MovementService;
+import com.torresj.footballteammanagementapi.services.PasswordService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,15 +19,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.security.Principal;
 import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
@@ -34,7 +42,8 @@ public class MemberController {
 
     private final MemberService memberService;
     private final MovementService movementService;
-    private final PasswordEncoder encoder;
+    private final MemberImportService memberImportService;
+    private final PasswordService passwordService;
 
     @Value("${default.password}")
     private final String defaultPassword;
@@ -60,6 +69,30 @@ public class MemberController {
         return ResponseEntity.ok(members);
     }
 
+    @GetMapping("/search")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Search members by prefix of name, surname or alias")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Members found",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = MemberSearchDto.class)))
+                            })
+            })
+    ResponseEntity<List<MemberSearchDto>> search(
+            @Parameter(description = "Text to search") @RequestParam String q,
+            @Parameter(description = "Max number of members returned")
+            @RequestParam(defaultValue = "10") int limit) {
+        log.info("[MEMBERS] Searching members by " + q);
+        var members = memberService.search(q, limit);
+        log.info("[MEMBERS] Members found: " + members.size());
+        return ResponseEntity.ok(members);
+    }
+
     @GetMapping("/{id}")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "Get member by ID")
@@ -112,6 +145,37 @@ public class MemberController {
         return ResponseEntity.ok(member);
     }
 
+    @GetMapping("/{id}/statement")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get the statement of a member, newest first, with the running balance after each movement")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Statement found",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = MemberStatementDto.class))
+                            }),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content),
+                    @ApiResponse(responseCode = "404", description = "Not found", content = @Content),
+            })
+    ResponseEntity<MemberStatementDto> getStatement(
+            @Parameter(description = "Member id") @PathVariable long id,
+            @Parameter(description = "Cursor returned as next by the previous request")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Max number of movements to return")
+            @RequestParam(defaultValue = "20") int limit)
+            throws MemberNotFoundException, InvalidCursorException {
+        log.info("[MEMBERS] Getting statement for member " + id);
+        var statement = movementService.getStatement(id, after, limit);
+        log.info("[MEMBERS] Statement found: " + statement.content().size());
+        return ResponseEntity.ok(statement);
+    }
+
     @GetMapping("/{id}/movements")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "Get movements by member ID")
@@ -160,7 +224,7 @@ public class MemberController {
                     content = @Content(schema = @Schema(implementation = CreateMemberDto.class)))
             @RequestBody
             CreateMemberDto request)
-            throws MemberAlreadyExistsException {
+            throws MemberAlreadyExistsException, ServerBusyException {
         log.info("[MEMBERS] Crating new user " + request.name() + " " + request.surname());
         var member =
                 memberService.create(
@@ -168,7 +232,7 @@ public class MemberController {
                         request.alias(),
                         request.surname(),
                         request.phone(),
-                        encoder.encode(defaultPassword),
+                        passwordService.encode(defaultPassword),
                         request.role());
         log.info("[MEMBERS] Member created");
         return ResponseEntity.created(
@@ -179,6 +243,36 @@ public class MemberController {
                 .build();
     }
 
+    @Secured("ROLE_ADMIN")
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Import members from a CSV (with header row) or NDJSON stream")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Import processed",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = MemberImportSummaryDto.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "415",
+                            description = "Unsupported format",
+                            content = {@Content()})
+            })
+    @SecurityRequirement(name = "Bearer Authentication")
+    ResponseEntity<MemberImportSummaryDto> importMembers(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType, InputStream body) throws IOException {
+        var format = MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? DataFormat.CSV
+                : DataFormat.NDJSON;
+        log.info("[MEMBERS] Importing members from " + format);
+        var summary = memberImportService.importMembers(body, format);
+        log.info("[MEMBERS] Members imported: " + summary.imported() + ", rejected: " + summary.rejected());
+        return ResponseEntity.ok(summary);
+    }
+
     @Secured("ROLE_ADMIN")
     @PutMapping("/{id}")
     @Operation(summary = "Update Member")
@@ -238,9 +332,9 @@ public class MemberController {
             @RequestBody
             UpdatePasswordDto request,
             Principal principal)
-            throws MemberNotFoundException {
+            throws MemberNotFoundException, ServerBusyException {
         log.info("[MEMBERS] Updating user " + principal.getName());
-        memberService.updateMyPassword(principal.getName(), encoder.encode(request.newPassword()));
+        memberService.updateMyPassword(principal.getName(), passwordService.encode(request.newPassword()));
         log.info("[MEMBERS] Member updated");
         return ResponseEntity.ok().build();
     }
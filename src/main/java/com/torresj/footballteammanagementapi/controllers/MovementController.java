@@ -1,23 +1,36 @@
 package com.torresj.footballteammanagementapi.controllers;
 
 import com.torresj.footballteammanagementapi.dtos.*;
+import com.torresj.footballteammanagementapi.enums.DataFormat;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.exceptions.MovementNotFoundException;
+import com.torresj.footballteammanagementapi.services.MovementExportService;
 import com.torresj.footballteammanagementapi.services.MovementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
@@ -27,8 +40,9 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 public class MovementController {
 
     private final MovementService movementService;
+    private final MovementExportService movementExportService;
 
-    @GetMapping
+    @GetMapping(params = "!limit")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "Get all movements")
     @ApiResponses(
@@ -47,17 +61,89 @@ public class MovementController {
             @RequestParam int page,
             @Parameter(description = "Number of elements per page")
             @RequestParam int elements,
-            @Parameter(description = "Filter to find by description")
+            @Parameter(description = "Filter to find by description, results are sorted by relevance")
             @RequestParam(required = false) String filter,
             @Parameter(description = "Filter to find by memberId")
-            @RequestParam(required = false) Long memberId
+            @RequestParam(required = false) Long memberId,
+            @Parameter(description = "Filter to find by type")
+            @RequestParam(required = false) MovementType type,
+            @Parameter(description = "First day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
     ) {
         log.info("[MOVEMENTS] Getting movements ...");
-        var result = movementService.get(memberId, filter, elements, page);
+        var result = movementService.get(memberId, filter, type, from, to, elements, page);
         log.info("[MOVEMENTS] Movements found: " + result.getContent().size());
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping(params = "limit")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get movements after a cursor, newest first")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Movements returned",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = MovementSliceDto.class))
+                            }),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+            })
+    ResponseEntity<MovementSliceDto> getAfter(
+            @Parameter(description = "Cursor returned as next by the previous request")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Max number of movements to return")
+            @RequestParam int limit,
+            @Parameter(description = "Filter to find by description")
+            @RequestParam(required = false) String filter,
+            @Parameter(description = "Filter to find by memberId")
+            @RequestParam(required = false) Long memberId,
+            @Parameter(description = "Filter to find by type")
+            @RequestParam(required = false) MovementType type,
+            @Parameter(description = "First day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) throws InvalidCursorException {
+        log.info("[MOVEMENTS] Getting movements after cursor " + after + " ...");
+        var result = movementService.getAfter(memberId, filter, type, from, to, after, limit);
+        log.info("[MOVEMENTS] Movements found: " + result.content().size());
+        return ResponseEntity.ok(result);
+    }
+
+    @Secured("ROLE_ADMIN")
+    @GetMapping("/export")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Export movements as CSV or NDJSON, oldest first")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Movements streamed",
+                            content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}),
+                    @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content)
+            })
+    ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "csv or ndjson")
+            @RequestParam(defaultValue = "csv") DataFormat format,
+            @Parameter(description = "First day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.info("[MOVEMENTS] Exporting movements as " + format);
+        StreamingResponseBody body = output -> movementExportService.export(format, from, to, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=movements." + format.name().toLowerCase(Locale.ROOT))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "Get movement by ID")
@@ -117,6 +203,34 @@ public class MovementController {
                 .build();
     }
 
+    @Secured("ROLE_ADMIN")
+    @PostMapping("/bulk")
+    @Operation(summary = "Create several movements at once, e.g. the payments collected on a match day")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Movements processed",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = BulkMovementSummaryDto.class))
+                            })
+            })
+    @SecurityRequirement(name = "Bearer Authentication")
+    ResponseEntity<BulkMovementSummaryDto> createAll(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Movements to create",
+                    required = true,
+                    content = @Content(array = @ArraySchema(schema = @Schema(implementation = CreateMovementDto.class))))
+            @RequestBody
+            List<CreateMovementDto> request) {
+        log.info("[MOVEMENTS] Creating " + request.size() + " movements");
+        var summary = movementService.createAll(request);
+        log.info("[MOVEMENTS] Movements created: " + summary.created() + ", rejected: " + summary.rejected());
+        return ResponseEntity.ok(summary);
+    }
+
     @Secured("ROLE_ADMIN")
     @PatchMapping("/{id}")
     @Operation(summary = "Update movement")
@@ -170,20 +284,28 @@ public class MovementController {
 
     @Secured("ROLE_ADMIN")
     @PostMapping("/annualpay")
-    @Operation(summary = "Add annual pay to every member")
+    @Operation(summary = "Add annual pay to every member not charged yet for the season")
     @ApiResponses(
             value = {
                     @ApiResponse(
                             responseCode = "200",
                             description = "Movements added",
-                            content = {@Content()})
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = AnnualFeeSummaryDto.class))
+                            })
             })
     @SecurityRequirement(name = "Bearer Authentication")
-    ResponseEntity<Void> annualPay() {
-        log.info("[MOVEMENTS] Adding annual pay");
-        movementService.addAnnualTeamPay();
-        log.info("[MOVEMENTS] Movements added");
-        return ResponseEntity.ok().build();
+    ResponseEntity<AnnualFeeSummaryDto> annualPay(
+            @Parameter(description = "Season of the fee, current year by default")
+            @RequestParam(required = false) Integer season
+    ) {
+        int feeSeason = season == null ? LocalDate.now().getYear() : season;
+        log.info("[MOVEMENTS] Adding annual pay for season " + feeSeason);
+        var summary = movementService.addAnnualTeamPay(feeSeason);
+        log.info("[MOVEMENTS] Annual pay added to " + summary.membersCharged() + " members");
+        return ResponseEntity.ok(summary);
     }
 
     @GetMapping("/balance")
@@ -1,8 +1,21 @@
 package com.torresj.footballteammanagementapi.controllers;
 
-import com.itextpdf.text.DocumentException;
+import com.torresj.footballteammanagementapi.dtos.CreateReportJobDto;
+import com.torresj.footballteammanagementapi.dtos.ReportJobDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryReportDto;
+import com.torresj.footballteammanagementapi.enums.ReportFormat;
+import com.torresj.footballteammanagementapi.enums.ReportGranularity;
+import com.torresj.footballteammanagementapi.exceptions.InvalidReportParametersException;
+import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ReportJobNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ReportJobNotReadyException;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
+import com.torresj.footballteammanagementapi.exceptions.UnsupportedReportFormatException;
+import com.torresj.footballteammanagementapi.reports.ReportProgress;
+import com.torresj.footballteammanagementapi.services.ReportJobService;
 import com.torresj.footballteammanagementapi.services.ReportService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -10,14 +23,22 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.security.Principal;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.Map;
 
 @RestController
 @RequestMapping("v1/reports")
@@ -26,6 +47,7 @@ import java.io.InputStream;
 public class ReportController {
 
   private final ReportService reportService;
+  private final ReportJobService reportJobService;
 
   @Operation(summary = "")
   @ApiResponses(
@@ -37,20 +59,207 @@ public class ReportController {
               @Content(
                   mediaType = "application/PDF")
             }),
+        @ApiResponse(responseCode = "304", description = "Ledger unchanged since the ETag sent", content = @Content),
         @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
         @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
       })
   @SecurityRequirement(name = "Bearer Authentication")
   @GetMapping("/balance_pdf")
-  ResponseEntity<byte[]> balancePDF() throws DocumentException {
+  ResponseEntity<StreamingResponseBody> balancePDF(WebRequest request) {
+    return balancePDFUnlessNotModified(request);
+  }
+
+  @Operation(summary = "Balance as PDF, a client holding the copy of the current ledger gets a 304")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Balance generated",
+            content = {@Content(mediaType = "application/pdf")}),
+        @ApiResponse(responseCode = "304", description = "Ledger unchanged since the ETag sent", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @GetMapping("/balance")
+  ResponseEntity<StreamingResponseBody> balance(WebRequest request) {
+    return balancePDFUnlessNotModified(request);
+  }
+
+  @Operation(summary = "Balance as CSV or XLSX with one row per movement for spreadsheets")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Balance streamed",
+            content = {
+              @Content(mediaType = "text/csv"),
+              @Content(mediaType = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+            }),
+        @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @GetMapping(value = "/balance", params = {"format", "format!=pdf"})
+  ResponseEntity<StreamingResponseBody> streamBalance(
+      @Parameter(description = "pdf, csv or xlsx") @RequestParam ReportFormat format)
+      throws UnsupportedReportFormatException {
+    // The balance is a document, its figures as data are the treasury report
+    if (format == ReportFormat.JSON) throw new UnsupportedReportFormatException("Balance", format);
+
+    log.info("[REPORTS] Streaming balance as " + format);
+    StreamingResponseBody body = output -> reportService.writeBalance(format, output, ReportProgress.NONE);
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=balance." + format.getExtension())
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .body(body);
+  }
+
+  private ResponseEntity<StreamingResponseBody> balancePDFUnlessNotModified(WebRequest request) {
     log.info("[REPORTS] Generating balance in PDF");
-    byte[] data = reportService.getBalancePDF();
-    HttpHeaders headers = new HttpHeaders();
-    headers.set(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=balance.pdf");
-    log.info("[REPORTS] Balance in PDF generated");
+    // The ETag only depends on the ledger version and the day, so a 304 doesn't render anything
+    String etag = reportService.getBalancePDFETag();
+    if (request.checkNotModified(etag)) {
+      log.info("[REPORTS] Balance in PDF not modified");
+      return null;
+    }
+    StreamingResponseBody body = output -> reportService.writeBalance(ReportFormat.PDF, output, ReportProgress.NONE);
+    log.info("[REPORTS] Streaming balance in PDF");
     return ResponseEntity.ok()
-            .headers(headers)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=balance.pdf")
+            .eTag(etag)
             .contentType(MediaType.APPLICATION_PDF)
-            .body(data);
+            .body(body);
+  }
+
+  @Operation(summary = "Statement of a member in PDF, newest first, with the running balance")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Statement generated", content = {@Content(mediaType = "application/pdf")}),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Member not found", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @GetMapping("/members/{id}/statement")
+  ResponseEntity<byte[]> memberStatementPDF(@PathVariable long id) throws MemberNotFoundException, IOException {
+    log.info("[REPORTS] Generating statement in PDF for member " + id);
+    var data = reportService.getMemberStatementPDF(id);
+    log.info("[REPORTS] Statement in PDF generated");
+    return statement(data);
+  }
+
+  @Operation(summary = "Statement of the logged member in PDF, newest first, with the running balance")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Statement generated", content = {@Content(mediaType = "application/pdf")}),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Member not found", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @GetMapping("/members/me/statement")
+  ResponseEntity<byte[]> myStatementPDF(Principal principal) throws MemberNotFoundException, IOException {
+    log.info("[REPORTS] Generating statement in PDF for member " + principal.getName());
+    var data = reportService.getMemberStatementPDF(principal.getName());
+    log.info("[REPORTS] Statement in PDF generated");
+    return statement(data);
+  }
+
+  @Operation(summary = "Incomes, expenses, fines and fees of the team and the members per month or year, closed seasons included")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Treasury report generated",
+            content = {
+              @Content(mediaType = "application/json", schema = @Schema(implementation = TreasuryReportDto.class)),
+              @Content(mediaType = "application/pdf")
+            }),
+        @ApiResponse(responseCode = "400", description = "Unsupported format or granularity", content = @Content),
+        @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @GetMapping("/treasury")
+  ResponseEntity<?> treasury(
+      @Parameter(description = "First day included")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+      @Parameter(description = "Last day included")
+          @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+      @Parameter(description = "month or year") @RequestParam(defaultValue = "month") ReportGranularity granularity,
+      @Parameter(description = "json or pdf") @RequestParam(defaultValue = "json") ReportFormat format)
+      throws IOException, UnsupportedReportFormatException {
+    log.info("[REPORTS] Generating treasury report by " + granularity + " as " + format);
+    return switch (format) {
+      case JSON -> ResponseEntity.ok(reportService.getTreasuryReport(from, to, granularity));
+      case PDF -> ResponseEntity.ok()
+          .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=treasury.pdf")
+          .contentType(MediaType.APPLICATION_PDF)
+          .body(reportService.getTreasuryReportPDF(from, to, granularity));
+      default -> throw new UnsupportedReportFormatException("Treasury report", format);
+    };
+  }
+
+  @Operation(summary = "Queue a report, identical jobs for the same ledger are shared")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "202",
+            description = "Report job queued",
+            content = {@Content(schema = @Schema(implementation = ReportJobDto.class))}),
+        @ApiResponse(responseCode = "400", description = "Parameters the report doesn't take", content = @Content),
+        @ApiResponse(responseCode = "429", description = "Report queue is full", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @PostMapping("/jobs")
+  ResponseEntity<ReportJobDto> createJob(@RequestBody CreateReportJobDto request)
+      throws InvalidReportParametersException, ServerBusyException {
+    log.info("[REPORTS] Queueing report " + request.type());
+    var job =
+        reportJobService.submit(
+            request.type(), request.parameters() == null ? Map.of() : request.parameters());
+    log.info("[REPORTS] Report job " + job.id() + " is " + job.status());
+    return ResponseEntity.accepted().location(URI.create("/v1/reports/jobs/" + job.id())).body(job);
+  }
+
+  @Operation(summary = "Get the status and progress of a report job")
+  @ApiResponses(
+      value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Report job found",
+            content = {@Content(schema = @Schema(implementation = ReportJobDto.class))}),
+        @ApiResponse(responseCode = "404", description = "Report job not found or expired", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @GetMapping("/jobs/{id}")
+  ResponseEntity<ReportJobDto> getJob(@PathVariable String id) throws ReportJobNotFoundException {
+    return ResponseEntity.ok(reportJobService.get(id));
+  }
+
+  @Operation(summary = "Download the report rendered by a finished job")
+  @ApiResponses(
+      value = {
+        @ApiResponse(responseCode = "200", description = "Report streamed", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Report job not found or expired", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Report job not finished", content = @Content)
+      })
+  @SecurityRequirement(name = "Bearer Authentication")
+  @GetMapping("/jobs/{id}/content")
+  ResponseEntity<StreamingResponseBody> getJobContent(@PathVariable String id)
+      throws ReportJobNotFoundException, ReportJobNotReadyException {
+    var job = reportJobService.getFinished(id);
+    log.info("[REPORTS] Streaming report job " + id);
+    StreamingResponseBody body = output -> reportJobService.writeContent(id, output);
+    return ResponseEntity.ok()
+        .header(
+            HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=" + job.type().name().toLowerCase(Locale.ROOT) + "." + job.type().getExtension())
+        .contentType(MediaType.parseMediaType(job.type().getMediaType()))
+        .body(body);
+  }
+
+  private ResponseEntity<byte[]> statement(byte[] data) {
+    return ResponseEntity.ok()
+        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=statement.pdf")
+        .contentType(MediaType.APPLICATION_PDF)
+        .body(data);
   }
 }
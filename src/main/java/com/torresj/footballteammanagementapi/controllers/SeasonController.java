@@ -0,0 +1,140 @@
+package com.torresj.footballteammanagementapi.controllers;
+
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.SeasonDto;
+import com.torresj.footballteammanagementapi.exceptions.InvalidSeasonStartException;
+import com.torresj.footballteammanagementapi.exceptions.SeasonAlreadyClosedException;
+import com.torresj.footballteammanagementapi.exceptions.SeasonNotFoundException;
+import com.torresj.footballteammanagementapi.services.SeasonService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.annotation.Secured;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("v1/seasons")
+@Slf4j
+@RequiredArgsConstructor
+public class SeasonController {
+
+    private final SeasonService seasonService;
+
+    @GetMapping
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get closed seasons")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Seasons returned",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = SeasonDto.class)))
+                            })
+            })
+    ResponseEntity<List<SeasonDto>> getAll() {
+        log.info("[SEASONS] Getting seasons ...");
+        var result = seasonService.get();
+        log.info("[SEASONS] Seasons found: " + result.size());
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/{season}/movements")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get archived movements of a closed season")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Movements returned",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = Page.class))
+                            }),
+                    @ApiResponse(responseCode = "404", description = "Not found", content = @Content)
+            })
+    ResponseEntity<Page<MovementDto>> getMovements(
+            @Parameter(description = "Season") @PathVariable int season,
+            @Parameter(description = "Number of page")
+            @RequestParam int page,
+            @Parameter(description = "Number of elements per page")
+            @RequestParam int elements,
+            @Parameter(description = "Filter to find by memberId")
+            @RequestParam(required = false) Long memberId
+    ) throws SeasonNotFoundException {
+        log.info("[SEASONS] Getting movements of season " + season);
+        var result = seasonService.getMovements(season, memberId, elements, page);
+        log.info("[SEASONS] Movements found: " + result.getContent().size());
+        return ResponseEntity.ok(result);
+    }
+
+    @GetMapping("/{season}/team/movements")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get archived team movements of a closed season")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Movements returned",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            array = @ArraySchema(schema = @Schema(implementation = MovementDto.class)))
+                            }),
+                    @ApiResponse(responseCode = "404", description = "Not found", content = @Content)
+            })
+    ResponseEntity<List<MovementDto>> getTeamMovements(@Parameter(description = "Season") @PathVariable int season)
+            throws SeasonNotFoundException {
+        log.info("[SEASONS] Getting team movements of season " + season);
+        var result = seasonService.getTeamMovements(season);
+        log.info("[SEASONS] Team movements found: " + result.size());
+        return ResponseEntity.ok(result);
+    }
+
+    @Secured("ROLE_ADMIN")
+    @PostMapping("/{season}/close")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Archive every movement before the next season and carry the balances forward")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Season closed",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = SeasonDto.class))
+                            }),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Season already closed, or next season start in the future or before the last one",
+                            content = @Content)
+            })
+    ResponseEntity<SeasonDto> close(
+            @Parameter(description = "Season to close") @PathVariable int season,
+            @Parameter(description = "First day of the next season, today by default")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate nextSeasonStart
+    ) throws SeasonAlreadyClosedException, InvalidSeasonStartException {
+        var start = nextSeasonStart == null ? LocalDate.now() : nextSeasonStart;
+        log.info("[SEASONS] Closing season " + season + ", next one starts on " + start);
+        var result = seasonService.close(season, start);
+        log.info("[SEASONS] Season closed");
+        return ResponseEntity.ok(result);
+    }
+}
@@ -1,13 +1,17 @@
 package com.torresj.footballteammanagementapi.controllers;
 
 import com.torresj.footballteammanagementapi.dtos.*;
+import com.torresj.footballteammanagementapi.enums.DataFormat;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.exceptions.MovementNotFoundException;
+import com.torresj.footballteammanagementapi.services.MovementExportService;
 import com.torresj.footballteammanagementapi.services.MovementService;
 import com.torresj.footballteammanagementapi.services.TeamMovementService;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
-import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,12 +20,17 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.annotation.Secured;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
-import java.util.List;
+import java.time.LocalDate;
+import java.util.Locale;
 
 @RestController
 @RequestMapping("v1/team/movements")
@@ -30,10 +39,12 @@ import java.util.List;
 public class TeamMovementController {
 
     private final TeamMovementService movementService;
+    private final MovementExportService movementExportService;
+    private final TreasuryService treasuryService;
 
-    @GetMapping
+    @GetMapping(params = "page")
     @SecurityRequirement(name = "Bearer Authentication")
-    @Operation(summary = "Get all movements")
+    @Operation(summary = "Get a page of movements, oldest first or by relevance when filtered")
     @ApiResponses(
             value = {
                     @ApiResponse(
@@ -42,16 +53,93 @@ public class TeamMovementController {
                             content = {
                                     @Content(
                                             mediaType = "application/json",
-                                            array = @ArraySchema(schema = @Schema(implementation = MovementDto.class)))
+                                            schema = @Schema(implementation = Page.class))
                             })
             })
-    ResponseEntity<List<MovementDto>> getAll() {
-        log.info("[TEAM MOVEMENTS] Getting movements ...");
-        var result = movementService.get();
-        log.info("[TEAM MOVEMENTS] Movements found: {}", result.size());
+    ResponseEntity<Page<MovementDto>> getAll(
+            @Parameter(description = "Number of page")
+            @RequestParam int page,
+            @Parameter(description = "Number of elements per page")
+            @RequestParam int elements,
+            @Parameter(description = "Filter to find by description, results are sorted by relevance")
+            @RequestParam(required = false) String filter,
+            @Parameter(description = "Filter to find by type")
+            @RequestParam(required = false) MovementType type,
+            @Parameter(description = "First day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.info("[TEAM MOVEMENTS] Getting movements page {} ...", page);
+        var result = movementService.get(filter, type, from, to, elements, page);
+        log.info("[TEAM MOVEMENTS] Movements found: {}", result.getContent().size());
         return ResponseEntity.ok(result);
     }
 
+    @GetMapping(params = "!page")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Get movements after a cursor, oldest first")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Movements returned",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = MovementSliceDto.class))
+                            }),
+                    @ApiResponse(responseCode = "400", description = "Invalid cursor", content = @Content)
+            })
+    ResponseEntity<MovementSliceDto> getAfter(
+            @Parameter(description = "Cursor returned as next by the previous request")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Max number of movements to return")
+            @RequestParam(defaultValue = "50") int limit,
+            @Parameter(description = "Filter to find by description")
+            @RequestParam(required = false) String filter,
+            @Parameter(description = "Filter to find by type")
+            @RequestParam(required = false) MovementType type,
+            @Parameter(description = "First day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) throws InvalidCursorException {
+        log.info("[TEAM MOVEMENTS] Getting movements after cursor {} ...", after);
+        var result = movementService.getAfter(filter, type, from, to, after, limit);
+        log.info("[TEAM MOVEMENTS] Movements found: {}", result.content().size());
+        return ResponseEntity.ok(result);
+    }
+
+    @Secured("ROLE_ADMIN")
+    @GetMapping("/export")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Export every movement as CSV or NDJSON, oldest first")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Movements streamed",
+                            content = {@Content(mediaType = "text/csv"), @Content(mediaType = "application/x-ndjson")}),
+                    @ApiResponse(responseCode = "400", description = "Unsupported format", content = @Content)
+            })
+    ResponseEntity<StreamingResponseBody> export(
+            @Parameter(description = "csv or ndjson")
+            @RequestParam(defaultValue = "csv") DataFormat format,
+            @Parameter(description = "First day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day included")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to
+    ) {
+        log.info("[TEAM MOVEMENTS] Exporting movements as {}", format);
+        StreamingResponseBody body = output -> movementExportService.exportTeam(format, from, to, output);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.getMediaType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=team-movements." + format.name().toLowerCase(Locale.ROOT))
+                .body(body);
+    }
+
     @GetMapping("/{id}")
     @SecurityRequirement(name = "Bearer Authentication")
     @Operation(summary = "Get movement by ID")
@@ -184,4 +272,28 @@ public class TeamMovementController {
         log.info("[TEAM MOVEMENTS] Balance found");
         return ResponseEntity.ok(balance);
     }
+
+    @Secured("ROLE_ADMIN")
+    @PostMapping("/balance/recompute")
+    @SecurityRequirement(name = "Bearer Authentication")
+    @Operation(summary = "Rebuild the treasury totals from every member and team movement")
+    @ApiResponses(
+            value = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Totals recomputed",
+                            content = {
+                                    @Content(
+                                            mediaType = "application/json",
+                                            schema = @Schema(implementation = TreasuryTotalsDto.class))
+                            }),
+                    @ApiResponse(responseCode = "401", description = "Unauthorized", content = @Content),
+                    @ApiResponse(responseCode = "403", description = "Forbidden", content = @Content)
+            })
+    ResponseEntity<TreasuryTotalsDto> recomputeBalance() {
+        log.info("[TEAM MOVEMENTS] Recomputing treasury totals");
+        var totals = treasuryService.recompute();
+        log.info("[TEAM MOVEMENTS] Treasury totals recomputed");
+        return ResponseEntity.ok(totals);
+    }
 }
@@ -0,0 +1,3 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+public record AnnualFeeSummaryDto(int season, int membersCharged, double amount) {}
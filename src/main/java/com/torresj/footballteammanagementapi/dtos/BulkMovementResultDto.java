@@ -0,0 +1,6 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import com.torresj.footballteammanagementapi.enums.BulkItemStatus;
+
+public record BulkMovementResultDto(
+        int index, Long memberId, BulkItemStatus status, Long movementId, String message) {}
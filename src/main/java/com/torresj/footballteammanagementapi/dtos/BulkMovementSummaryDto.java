@@ -0,0 +1,6 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import java.util.List;
+
+public record BulkMovementSummaryDto(
+        int total, int created, int rejected, List<BulkMovementResultDto> items) {}
@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import com.torresj.footballteammanagementapi.enums.ReportType;
+
+import java.util.Map;
+
+public record CreateReportJobDto(ReportType type, Map<String, String> parameters) {}
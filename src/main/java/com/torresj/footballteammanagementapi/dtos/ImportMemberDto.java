@@ -0,0 +1,6 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import com.torresj.footballteammanagementapi.enums.Role;
+
+public record ImportMemberDto(
+        String name, String alias, String surname, String phone, Role role, String password) {}
@@ -0,0 +1,5 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import com.torresj.footballteammanagementapi.enums.ImportRowStatus;
+
+public record MemberImportResultDto(int row, String username, ImportRowStatus status, String message) {}
@@ -0,0 +1,6 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import java.util.List;
+
+public record MemberImportSummaryDto(
+        int total, int imported, int rejected, List<MemberImportResultDto> rows) {}
@@ -0,0 +1,3 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+public record MemberSearchDto(long id, String name, String surname, String alias) {}
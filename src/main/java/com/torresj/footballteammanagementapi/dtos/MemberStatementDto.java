@@ -0,0 +1,5 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import java.util.List;
+
+public record MemberStatementDto(List<StatementEntryDto> content, boolean hasNext, String next) {}
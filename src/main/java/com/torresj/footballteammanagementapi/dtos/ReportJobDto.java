@@ -0,0 +1,14 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import com.torresj.footballteammanagementapi.enums.ReportJobStatus;
+import com.torresj.footballteammanagementapi.enums.ReportType;
+
+import java.util.Map;
+
+public record ReportJobDto(
+        String id,
+        ReportType type,
+        Map<String, String> parameters,
+        ReportJobStatus status,
+        int progress,
+        String error) {}
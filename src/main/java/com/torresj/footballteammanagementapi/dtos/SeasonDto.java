@@ -0,0 +1,4 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+public record SeasonDto(
+        int season, String nextSeasonStart, String closedOn, int archivedMovements, int archivedTeamMovements) {}
@@ -0,0 +1,6 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+public record StatementEntryDto(
+        long id, MovementType type, double amount, String description, String createdOn, double balance) {}
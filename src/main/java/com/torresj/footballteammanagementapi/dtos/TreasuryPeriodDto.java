@@ -0,0 +1,11 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+public record TreasuryPeriodDto(
+        String period,
+        double teamIncomes,
+        double teamExpenses,
+        double memberIncomes,
+        double fines,
+        double fees,
+        double otherCharges,
+        double balance) {}
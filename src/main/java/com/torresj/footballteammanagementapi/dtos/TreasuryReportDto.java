@@ -0,0 +1,8 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+import com.torresj.footballteammanagementapi.enums.ReportGranularity;
+
+import java.util.List;
+
+public record TreasuryReportDto(
+        String from, String to, ReportGranularity granularity, List<TreasuryPeriodDto> periods, TreasuryPeriodDto total) {}
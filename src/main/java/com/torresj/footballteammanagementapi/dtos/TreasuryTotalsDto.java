@@ -0,0 +1,3 @@
+package com.torresj.footballteammanagementapi.dtos;
+
+public record TreasuryTotalsDto(double teamIncomes, double teamExpenses, double memberIncomes, double memberExpenses) {}
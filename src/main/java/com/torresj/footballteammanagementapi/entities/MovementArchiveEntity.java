@@ -0,0 +1,47 @@
+package com.torresj.footballteammanagementapi.entities;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/** Member movement of a closed season, keeps the id it had in the live table. */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_movement_archive_season_member", columnList = "season, memberId, createdOn, id"),
+        @Index(name = "idx_movement_archive_created_on", columnList = "createdOn, type"),
+        @Index(name = "idx_movement_archive_member_fee_season", columnList = "memberId, feeSeason")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class MovementArchiveEntity {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private int season;
+
+    @Column(nullable = false)
+    private MovementType type;
+
+    @Column(nullable = false)
+    private long memberId;
+
+    @Column(nullable = false)
+    private double amount;
+
+    @Column
+    private String description;
+
+    @Column
+    private LocalDate createdOn;
+
+    @Column
+    private Integer feeSeason;
+}
@@ -1,6 +1,7 @@
 package com.torresj.footballteammanagementapi.entities;
 
 import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.search.MovementSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +13,14 @@ import java.time.Instant;
 import java.time.LocalDate;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_movement_member_created_on", columnList = "memberId, createdOn, id"),
+        @Index(name = "idx_movement_created_on", columnList = "createdOn, id"),
+        @Index(name = "idx_movement_type_created_on", columnList = "type, createdOn"),
+        @Index(name = "idx_movement_member_type_created_on", columnList = "memberId, type, createdOn"),
+        @Index(name = "uk_movement_member_fee_season", columnList = "memberId, feeSeason", unique = true)
+})
+@EntityListeners(MovementSearchIndexListener.class)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder(toBuilder = true)
@@ -36,4 +45,8 @@ public class MovementEntity {
 
     @CreationTimestamp
     private LocalDate createdOn;
+
+    // Season of the annual fee charged by this movement, null for any other movement
+    @Column(updatable = false)
+    private Integer feeSeason;
 }
@@ -0,0 +1,33 @@
+package com.torresj.footballteammanagementapi.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/** A closed season, its movements live in the archive tables. */
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class SeasonEntity {
+    @Id
+    private Integer season;
+
+    // First day of the next season, every movement before it was archived
+    @Column(nullable = false)
+    private LocalDate nextSeasonStart;
+
+    @Column(nullable = false)
+    private LocalDate closedOn;
+
+    @Column(nullable = false)
+    private int archivedMovements;
+
+    @Column(nullable = false)
+    private int archivedTeamMovements;
+}
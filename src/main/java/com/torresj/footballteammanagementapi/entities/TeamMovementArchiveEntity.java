@@ -0,0 +1,40 @@
+package com.torresj.footballteammanagementapi.entities;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/** Team movement of a closed season, keeps the id it had in the live table. */
+@Entity
+@Table(indexes = {
+        @Index(name = "idx_team_movement_archive_season", columnList = "season, createdOn, id"),
+        @Index(name = "idx_team_movement_archive_created_on", columnList = "createdOn, type")
+})
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class TeamMovementArchiveEntity {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private int season;
+
+    @Column(nullable = false)
+    private MovementType type;
+
+    @Column(nullable = false)
+    private double amount;
+
+    @Column
+    private String description;
+
+    @Column
+    private LocalDate createdOn;
+}
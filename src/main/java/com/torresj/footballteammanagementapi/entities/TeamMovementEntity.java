@@ -1,6 +1,7 @@
 package com.torresj.footballteammanagementapi.entities;
 
 import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.search.MovementSearchIndexListener;
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,11 @@ import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_team_movement_created_on", columnList = "createdOn, id"),
+        @Index(name = "idx_team_movement_type_created_on", columnList = "type, createdOn")
+})
+@EntityListeners(MovementSearchIndexListener.class)
 @AllArgsConstructor
 @NoArgsConstructor
 @Builder(toBuilder = true)
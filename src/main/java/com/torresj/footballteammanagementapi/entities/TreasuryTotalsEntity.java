@@ -0,0 +1,36 @@
+package com.torresj.footballteammanagementapi.entities;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * Running totals of every live member and team movement, kept in a single row. It is only changed with
+ * relative updates in the same transaction as the movement, so readers never aggregate the ledger.
+ */
+@Entity
+@Table(name = "treasury_totals")
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Getter
+public class TreasuryTotalsEntity {
+    public static final int ID = 1;
+
+    @Id
+    private Integer id;
+
+    @Column(nullable = false)
+    private double teamIncomes;
+
+    @Column(nullable = false)
+    private double teamExpenses;
+
+    @Column(nullable = false)
+    private double memberIncomes;
+
+    @Column(nullable = false)
+    private double memberExpenses;
+}
@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.enums;
+
+public enum BulkItemStatus {
+    CREATED,
+    MEMBER_NOT_FOUND,
+    INVALID
+}
@@ -0,0 +1,17 @@
+package com.torresj.footballteammanagementapi.enums;
+
+/** Row by row formats used to import and export data. */
+public enum DataFormat {
+    CSV("text/csv;charset=UTF-8"),
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    DataFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+}
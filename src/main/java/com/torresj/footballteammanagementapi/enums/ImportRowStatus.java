@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.enums;
+
+public enum ImportRowStatus {
+    IMPORTED,
+    DUPLICATED,
+    INVALID
+}
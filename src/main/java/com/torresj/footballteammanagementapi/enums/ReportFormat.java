@@ -0,0 +1,24 @@
+package com.torresj.footballteammanagementapi.enums;
+
+public enum ReportFormat {
+    JSON("application/json", "json"),
+    PDF("application/pdf", "pdf"),
+    CSV("text/csv;charset=UTF-8", "csv"),
+    XLSX("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "xlsx");
+
+    private final String mediaType;
+    private final String extension;
+
+    ReportFormat(String mediaType, String extension) {
+        this.mediaType = mediaType;
+        this.extension = extension;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
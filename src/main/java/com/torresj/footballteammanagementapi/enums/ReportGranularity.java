@@ -0,0 +1,6 @@
+package com.torresj.footballteammanagementapi.enums;
+
+public enum ReportGranularity {
+    MONTH,
+    YEAR
+}
@@ -0,0 +1,8 @@
+package com.torresj.footballteammanagementapi.enums;
+
+public enum ReportJobStatus {
+    QUEUED,
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,25 @@
+package com.torresj.footballteammanagementapi.enums;
+
+public enum ReportType {
+    BALANCE_PDF(ReportFormat.PDF),
+    BALANCE_CSV(ReportFormat.CSV),
+    BALANCE_XLSX(ReportFormat.XLSX);
+
+    private final ReportFormat format;
+
+    ReportType(ReportFormat format) {
+        this.format = format;
+    }
+
+    public ReportFormat getFormat() {
+        return format;
+    }
+
+    public String getMediaType() {
+        return format.getMediaType();
+    }
+
+    public String getExtension() {
+        return format.getExtension();
+    }
+}
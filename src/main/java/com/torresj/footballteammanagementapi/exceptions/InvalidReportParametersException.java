@@ -0,0 +1,11 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+import com.torresj.footballteammanagementapi.enums.ReportType;
+
+import java.util.Collection;
+
+public class InvalidReportParametersException extends Exception {
+  public InvalidReportParametersException(ReportType type, Collection<String> parameters) {
+    super(type + " doesn't take the parameters " + parameters);
+  }
+}
@@ -0,0 +1,9 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+import java.time.LocalDate;
+
+public class InvalidSeasonStartException extends Exception {
+  public InvalidSeasonStartException(LocalDate nextSeasonStart, String reason) {
+    super("Next season can't start on " + nextSeasonStart + ", " + reason);
+  }
+}
@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+public class ReportJobNotFoundException extends Exception {
+  public ReportJobNotFoundException(String id) {
+    super("Report job " + id + " not found");
+  }
+}
@@ -0,0 +1,9 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+import com.torresj.footballteammanagementapi.enums.ReportJobStatus;
+
+public class ReportJobNotReadyException extends Exception {
+  public ReportJobNotReadyException(String id, ReportJobStatus status) {
+    super("Report job " + id + " is " + status);
+  }
+}
@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+public class SeasonAlreadyClosedException extends Exception {
+  public SeasonAlreadyClosedException(int season) {
+    super("Season " + season + " is already closed");
+  }
+}
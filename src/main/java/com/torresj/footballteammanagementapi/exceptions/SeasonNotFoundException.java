@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+public class SeasonNotFoundException extends Exception {
+  public SeasonNotFoundException(int season) {
+    super("Season " + season + " not found");
+  }
+}
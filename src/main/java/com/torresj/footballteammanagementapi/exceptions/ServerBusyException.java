@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+public class ServerBusyException extends Exception {
+  public ServerBusyException() {
+    super("Server is busy, try again later");
+  }
+}
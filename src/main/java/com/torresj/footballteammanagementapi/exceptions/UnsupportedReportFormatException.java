@@ -0,0 +1,9 @@
+package com.torresj.footballteammanagementapi.exceptions;
+
+import com.torresj.footballteammanagementapi.enums.ReportFormat;
+
+public class UnsupportedReportFormatException extends Exception {
+  public UnsupportedReportFormatException(String report, ReportFormat format) {
+    super(report + " can't be rendered as " + format);
+  }
+}
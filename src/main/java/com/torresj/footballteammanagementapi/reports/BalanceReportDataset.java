@@ -0,0 +1,93 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Everything the balance report prints. Members are loaded up front, movements are read from the
+ * database while the report is rendered and balances and totals are added up as the rows go by, so
+ * memory doesn't grow with the ledger. The movement streams need an open transaction.
+ *
+ * @param members members in the report, in id order
+ * @param teamMovements team movements oldest first
+ * @param memberMovements member movements ordered by member id, newest first inside each member
+ */
+public record BalanceReportDataset(
+        List<Member> members,
+        Supplier<Stream<ReportLine>> teamMovements,
+        Supplier<Stream<ReportLine>> memberMovements) {
+
+    public record Member(long id, String name, String surname) {
+
+        public String fullName() {
+            return name + " " + surname;
+        }
+    }
+
+    /** Receives the report in print order. */
+    public interface Listener<E extends Exception> {
+
+        default void teamMovement(ReportLine movement) throws E {}
+
+        default void teamMovementsEnd(double total) throws E {}
+
+        default void memberStart(Member member) throws E {}
+
+        default void memberMovement(Member member, ReportLine movement) throws E {}
+
+        default void memberEnd(Member member, double balance) throws E {}
+
+        /**
+         * @param teamMovementsTotal sum of the team movements
+         * @param memberTotals expenses and incomes of every member movement, members left out of the
+         *     report included
+         */
+        default void end(double teamMovementsTotal, TotalBalanceDto memberTotals) throws E {}
+    }
+
+    /** Reads the team movements and then every member's, one row at a time. */
+    public <E extends Exception> void read(Listener<E> listener) throws E {
+        double teamTotal = 0;
+        try (Stream<ReportLine> lines = teamMovements.get()) {
+            for (Iterator<ReportLine> it = lines.iterator(); it.hasNext(); ) {
+                ReportLine movement = it.next();
+                listener.teamMovement(movement);
+                teamTotal += movement.amount();
+            }
+        }
+        listener.teamMovementsEnd(teamTotal);
+
+        double expenses = 0;
+        double incomes = 0;
+        try (Stream<ReportLine> lines = memberMovements.get()) {
+            Iterator<ReportLine> it = lines.iterator();
+            ReportLine next = it.hasNext() ? it.next() : null;
+            for (Member member : members) {
+                listener.memberStart(member);
+                double balance = 0;
+                // Both sides come in member id order, rows of members left out only count for the totals
+                while (next != null && next.memberId() <= member.id()) {
+                    if (next.memberId() == member.id()) {
+                        listener.memberMovement(member, next);
+                        balance += next.amount();
+                    }
+                    if (next.type() == MovementType.EXPENSE) expenses += next.amount();
+                    else incomes += next.amount();
+                    next = it.hasNext() ? it.next() : null;
+                }
+                listener.memberEnd(member, balance);
+            }
+            while (next != null) {
+                if (next.type() == MovementType.EXPENSE) expenses += next.amount();
+                else incomes += next.amount();
+                next = it.hasNext() ? it.next() : null;
+            }
+        }
+        listener.end(teamTotal, new TotalBalanceDto(expenses, incomes));
+    }
+}
@@ -0,0 +1,43 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import com.torresj.footballteammanagementapi.repositories.MemberRepository;
+import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.repositories.TeamMovementRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Builds a {@link BalanceReportDataset} with three set-based queries whatever the number of members:
+ * members, member movements ordered by member and team movements. The movements are streamed while
+ * the report is rendered, so the caller reads the dataset inside the same read-only transaction and
+ * every figure of the report comes from it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceReportDatasetLoader {
+
+    private final MemberRepository memberRepository;
+    private final MovementRepository movementRepository;
+    private final TeamMovementRepository teamMovementRepository;
+
+    @Value("${admin.user}")
+    private final String adminUser;
+
+    // The movements are streamed after this returns, so the caller owns the transaction
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public BalanceReportDataset load() {
+        var members = memberRepository.findAll(Sort.by("id")).stream()
+                .filter(member -> !adminUser.equals(member.getName()))
+                .map(member -> new BalanceReportDataset.Member(member.getId(), member.getName(), member.getSurname()))
+                .toList();
+        log.debug("[REPORTS] Balance dataset loaded: {} members", members.size());
+        return new BalanceReportDataset(
+                members, teamMovementRepository::streamReportLines, movementRepository::streamReportLines);
+    }
+}
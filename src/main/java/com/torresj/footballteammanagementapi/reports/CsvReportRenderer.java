@@ -0,0 +1,53 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Balance as UTF-8 CSV with ISO dates and plain decimal amounts, which every spreadsheet parses
+ * whatever its locale. Only the writer buffer is held in memory.
+ */
+public class CsvReportRenderer extends SpreadsheetReportRenderer {
+
+    private final Writer writer;
+
+    public CsvReportRenderer(OutputStream output) {
+        this.writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+    }
+
+    @Override
+    protected void writeHeader(String... columns) throws IOException {
+        writer.write(String.join(",", columns));
+        writer.write('\n');
+    }
+
+    @Override
+    protected void writeRow(String section, String member, ReportLine movement) throws IOException {
+        writer.write(section);
+        writer.write(',');
+        writer.write(escape(member));
+        writer.write(',');
+        writer.write(movement.createdOn() == null ? "" : movement.createdOn().toString());
+        writer.write(',');
+        writer.write(escape(movement.description()));
+        writer.write(',');
+        writer.write(String.valueOf(movement.amount()));
+        writer.write('\n');
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        writer.flush();
+    }
+
+    private static String escape(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,43 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counter bumped on every write that changes what the reports print: member and team movements and
+ * members. Inside a transaction the bump waits for the commit, so a report rendered under a version
+ * never misses a write that was already visible when the version was read.
+ */
+@Component
+public class LedgerVersion {
+
+    // The counter starts again on every restart, the epoch tells versions of different runs apart
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public long current() {
+        return version.get();
+    }
+
+    /** Strong ETag of a report that only depends on the given version and day. */
+    public String etag(String report, long version, LocalDate date) {
+        return "\"" + report + "-" + epoch + "-" + version + "-" + date + "\"";
+    }
+
+    public void bump() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            version.incrementAndGet();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                version.incrementAndGet();
+            }
+        });
+    }
+}
@@ -0,0 +1,355 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import com.itextpdf.text.*;
+import com.itextpdf.text.pdf.PdfPCell;
+import com.itextpdf.text.pdf.PdfPTable;
+import com.itextpdf.text.pdf.PdfWriter;
+import com.torresj.footballteammanagementapi.dtos.StatementEntryDto;
+import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryPeriodDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryReportDto;
+import com.torresj.footballteammanagementapi.enums.ReportGranularity;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+/**
+ * Writes the PDF reports. A table copies every cell it receives, so cells are configured once as
+ * prototypes and only their phrase changes per row. Dates and whole amounts, which repeat a lot in
+ * a ledger, are formatted from primitives and their phrases reused. One instance renders one
+ * document and is not thread safe.
+ */
+public class PdfReportRenderer {
+
+    private static final Font chapterFont = FontFactory.getFont(FontFactory.HELVETICA, 26, Font.BOLDITALIC);
+    private static final Font paragraphFont = FontFactory.getFont(FontFactory.HELVETICA, 16, Font.BOLD);
+    private static final Font headerMemberFont = FontFactory.getFont(FontFactory.HELVETICA, 12, Font.BOLD);
+
+    private static final int FLUSH_ROWS = 100;
+    private static final int CACHED_AMOUNTS = 1000;
+    private static final int[] MOVEMENT_WIDTHS = {20, 65, 15};
+    private static final int[] STATEMENT_WIDTHS = {15, 55, 15, 15};
+    private static final int[] TREASURY_WIDTHS = {16, 12, 12, 12, 12, 12, 12, 12};
+
+    private final Document document = new Document();
+    private final LocalDate today;
+
+    private final PdfPCell headerCell = prototype(Element.ALIGN_LEFT);
+    private final PdfPCell dateCell = prototype(Element.ALIGN_CENTER);
+    private final PdfPCell textCell = prototype(Element.ALIGN_LEFT);
+    private final PdfPCell amountCell = prototype(Element.ALIGN_RIGHT);
+    private final PdfPCell sectionCell = prototype(Element.ALIGN_CENTER);
+    private final PdfPCell totalTextCell = prototype(Element.ALIGN_LEFT);
+    private final PdfPCell totalAmountCell = prototype(Element.ALIGN_RIGHT);
+
+    private final Phrase[] wholeAmounts = new Phrase[2 * CACHED_AMOUNTS + 1];
+    private final char[] dateChars = new char[10];
+    private long lastEpochDay = Long.MIN_VALUE;
+    private Phrase lastDate;
+    private String lastIsoDate;
+    private Phrase lastIsoDatePhrase;
+
+    private PdfPTable statementTable;
+
+    public PdfReportRenderer(OutputStream output, LocalDate today) throws DocumentException {
+        this.today = today;
+        headerCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+        headerCell.setBorderWidth(2);
+        totalTextCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+        totalTextCell.setBorderWidth(2);
+        totalAmountCell.setBackgroundColor(BaseColor.LIGHT_GRAY);
+        totalAmountCell.setBorderWidth(2);
+        // Pages are written to the output as soon as they are complete, the caller closes the stream
+        PdfWriter.getInstance(document, output).setCloseStream(false);
+        document.open();
+    }
+
+    public void renderBalance(BalanceReportDataset dataset, ReportProgress progress) throws DocumentException {
+        //PDF title
+        document.addTitle("Balance " + today.getYear());
+
+        //Document title
+        Paragraph title = new Paragraph(
+                "Balance de la peña Km/h para la temporada " + today.getYear() + "\n\n", chapterFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+
+        // Team balance section
+        Paragraph teamBalance = new Paragraph("\n\nGastos e ingresos generales de la peña\n\n", paragraphFont);
+        teamBalance.setAlignment(Element.ALIGN_CENTER);
+        document.add(teamBalance);
+        PdfPTable teamTable = movementsTable();
+
+        // Rows arrive in print order, each table is flushed while the ledger is read
+        int members = dataset.members().size();
+        dataset.read(new BalanceReportDataset.Listener<DocumentException>() {
+            private PdfPTable membersTable;
+            private int membersWritten;
+
+            @Override
+            public void teamMovement(ReportLine movement) throws DocumentException {
+                addMovementRow(teamTable, movement);
+                flushRows(teamTable);
+            }
+
+            @Override
+            public void teamMovementsEnd(double total) throws DocumentException {
+                addCell(teamTable, totalTextCell, new Phrase("Total"), 2);
+                addCell(teamTable, totalAmountCell, amount(total));
+                teamTable.setComplete(true);
+                document.add(teamTable);
+                progress.update(30);
+
+                // Members balance section
+                Paragraph membersBalance = new Paragraph("\n\nGastos e ingresos por cada miembro\n\n", paragraphFont);
+                membersBalance.setAlignment(Element.ALIGN_CENTER);
+                document.add(membersBalance);
+                membersTable = movementsTable();
+            }
+
+            @Override
+            public void memberStart(BalanceReportDataset.Member member) {
+                addCell(membersTable, sectionCell, new Phrase(member.fullName(), headerMemberFont), 3);
+            }
+
+            @Override
+            public void memberMovement(BalanceReportDataset.Member member, ReportLine movement)
+                    throws DocumentException {
+                addMovementRow(membersTable, movement);
+                flushRows(membersTable);
+            }
+
+            @Override
+            public void memberEnd(BalanceReportDataset.Member member, double balance) throws DocumentException {
+                addCell(membersTable, totalTextCell, new Phrase("Balance total de " + member.fullName()), 2);
+                addCell(membersTable, totalAmountCell, amount(balance));
+                flushRows(membersTable);
+                progress.update(30 + 65 * ++membersWritten / members);
+            }
+
+            @Override
+            public void end(double teamMovementsTotal, TotalBalanceDto memberTotals) throws DocumentException {
+                addMembersSummary(membersTable, memberTotals);
+
+                // Add final total balance
+                addTotalTeamBalanceTable(teamMovementsTotal, memberTotals);
+            }
+        });
+
+        document.close();
+        progress.update(100);
+    }
+
+    public void openStatement(String fullName) throws DocumentException {
+        document.addTitle("Extracto " + fullName);
+
+        Paragraph title = new Paragraph("Extracto de " + fullName + " a fecha " + formatDate(today) + "\n\n", paragraphFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+
+        statementTable = new PdfPTable(STATEMENT_WIDTHS.length);
+        statementTable.setWidths(STATEMENT_WIDTHS);
+        addHeaderRow(statementTable, "Fecha", "Descripción", "Cantidad", "Saldo");
+        statementTable.setComplete(false);
+    }
+
+    public void addStatementRow(StatementEntryDto entry) throws DocumentException {
+        addCell(statementTable, dateCell, isoDate(entry.createdOn()));
+        addCell(statementTable, textCell, new Phrase(entry.description()));
+        addCell(statementTable, amountCell, amount(entry.amount()));
+        addCell(statementTable, amountCell, amount(entry.balance()));
+        flushRows(statementTable);
+    }
+
+    public void closeStatement(double balance) throws DocumentException {
+        addCell(statementTable, totalTextCell, new Phrase("Saldo actual"), 3);
+        addCell(statementTable, totalAmountCell, amount(balance));
+        statementTable.setComplete(true);
+        document.add(statementTable);
+        document.close();
+    }
+
+    public void renderTreasury(TreasuryReportDto report) throws DocumentException {
+        document.addTitle("Tesorería " + today.getYear());
+
+        Paragraph title = new Paragraph("Tesorería de la peña Km/h\n\n", chapterFont);
+        title.setAlignment(Element.ALIGN_CENTER);
+        document.add(title);
+
+        String range = (report.from() == null ? "Desde el inicio" : "Desde " + formatDate(LocalDate.parse(report.from())))
+                + (report.to() == null ? " hasta hoy" : " hasta " + formatDate(LocalDate.parse(report.to())))
+                + (report.granularity() == ReportGranularity.YEAR ? ", por año" : ", por mes");
+        Paragraph subtitle = new Paragraph(range + "\n\n", paragraphFont);
+        subtitle.setAlignment(Element.ALIGN_CENTER);
+        document.add(subtitle);
+
+        PdfPTable table = new PdfPTable(TREASURY_WIDTHS.length);
+        table.setWidths(TREASURY_WIDTHS);
+        addHeaderRow(table, "Periodo", "Ingresos", "Gastos", "Pagos de miembros", "Multas", "Cuotas", "Otros cargos", "Balance");
+        table.setComplete(false);
+        for (TreasuryPeriodDto period : report.periods()) {
+            addTreasuryRow(table, period, textCell, amountCell);
+            flushRows(table);
+        }
+        addTreasuryRow(table, report.total(), totalTextCell, totalAmountCell);
+
+        table.setComplete(true);
+        document.add(table);
+        document.close();
+    }
+
+    private void addTreasuryRow(PdfPTable table, TreasuryPeriodDto period, PdfPCell labelCell, PdfPCell valueCell) {
+        addCell(table, labelCell, new Phrase(period.period()));
+        addCell(table, valueCell, amount(period.teamIncomes()));
+        addCell(table, valueCell, amount(period.teamExpenses()));
+        addCell(table, valueCell, amount(period.memberIncomes()));
+        addCell(table, valueCell, amount(period.fines()));
+        addCell(table, valueCell, amount(period.fees()));
+        addCell(table, valueCell, amount(period.otherCharges()));
+        addCell(table, valueCell, amount(period.balance()));
+    }
+
+    private void addMembersSummary(PdfPTable table, TotalBalanceDto balance) throws DocumentException {
+        addCell(table, sectionCell, new Phrase("Resumen", headerMemberFont), 3);
+
+        addCell(table, textCell, new Phrase("Total cuotas y multas"), 2);
+        addCell(table, amountCell, amount(balance.totalExpenses() * -1));
+
+        addCell(table, textCell, new Phrase("Total cuotas y multas pagadas"), 2);
+        addCell(table, amountCell, amount(balance.totalIncomes()));
+
+        addCell(table, textCell, new Phrase("Total cuotas y multas sin pagar"), 2);
+        addCell(table, amountCell, amount(balance.totalIncomes() + balance.totalExpenses()));
+
+        table.setComplete(true);
+        document.add(table);
+    }
+
+    private void addTotalTeamBalanceTable(double teamMovementsTotal, TotalBalanceDto memberTotals)
+            throws DocumentException {
+        Paragraph totalBalance =
+                new Paragraph("\n\nBalance total de la peña a fecha " + formatDate(today) + "\n\n", paragraphFont);
+        totalBalance.setAlignment(Element.ALIGN_CENTER);
+        document.add(totalBalance);
+
+        PdfPTable table = new PdfPTable(2);
+        table.setWidths(new int[]{80, 20});
+        addHeaderRow(table, "Descripción", "Cantidad");
+
+        addCell(table, textCell,
+                new Phrase("Balance general de la peña (balance temporada anterior + gastos generales)"));
+        addCell(table, amountCell, amount(teamMovementsTotal));
+
+        addCell(table, textCell, new Phrase("Ingresos por cuotas y multas"));
+        addCell(table, amountCell, amount(memberTotals.totalIncomes()));
+
+        // Member incomes are paid to the team
+        double teamTotalBalance = teamMovementsTotal + memberTotals.totalIncomes();
+        addCell(table, textCell, new Phrase("Total", headerMemberFont));
+        addCell(table, amountCell, new Phrase(String.valueOf(teamTotalBalance), headerMemberFont));
+
+        document.add(table);
+    }
+
+    private PdfPTable movementsTable() throws DocumentException {
+        PdfPTable table = new PdfPTable(MOVEMENT_WIDTHS.length);
+        table.setWidths(MOVEMENT_WIDTHS);
+        addHeaderRow(table, "Fecha", "Descripción", "Cantidad");
+        table.setComplete(false);
+        return table;
+    }
+
+    private void addHeaderRow(PdfPTable table, String... columnTitles) {
+        for (String columnTitle : columnTitles) {
+            addCell(table, headerCell, new Phrase(columnTitle));
+        }
+    }
+
+    private void addMovementRow(PdfPTable table, ReportLine movement) {
+        addCell(table, dateCell, date(movement.createdOn()));
+        addCell(table, textCell, new Phrase(movement.description()));
+        addCell(table, amountCell, amount(movement.amount()));
+    }
+
+    // The table copies the prototype, so it can be changed again for the next cell
+    private void addCell(PdfPTable table, PdfPCell prototype, Phrase phrase) {
+        addCell(table, prototype, phrase, 1);
+    }
+
+    private void addCell(PdfPTable table, PdfPCell prototype, Phrase phrase, int colspan) {
+        prototype.setPhrase(phrase);
+        prototype.setColspan(colspan);
+        table.addCell(prototype);
+    }
+
+    // Adds the completed rows of a partial table to the document so they don't pile up in memory
+    private void flushRows(PdfPTable table) throws DocumentException {
+        if (table.size() >= FLUSH_ROWS) document.add(table);
+    }
+
+    // Same text as String.valueOf(double), whole amounts are built once per document
+    private Phrase amount(double amount) {
+        if (amount >= -CACHED_AMOUNTS && amount <= CACHED_AMOUNTS && amount == Math.rint(amount)
+                && Double.doubleToRawLongBits(amount) != Double.doubleToRawLongBits(-0.0)) {
+            int index = (int) amount + CACHED_AMOUNTS;
+            Phrase phrase = wholeAmounts[index];
+            if (phrase == null) {
+                phrase = new Phrase((int) amount + ".0");
+                wholeAmounts[index] = phrase;
+            }
+            return phrase;
+        }
+        return new Phrase(String.valueOf(amount));
+    }
+
+    // dd/MM/yyyy; movements come sorted by date, so consecutive rows usually share the phrase
+    private Phrase date(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        if (epochDay != lastEpochDay) {
+            lastEpochDay = epochDay;
+            lastDate = new Phrase(formatDate(date));
+        }
+        return lastDate;
+    }
+
+    // Statements carry ISO dates, yyyy-MM-dd, which only need their fields reordered
+    private Phrase isoDate(String isoDate) {
+        if (!isoDate.equals(lastIsoDate)) {
+            lastIsoDate = isoDate;
+            dateChars[0] = isoDate.charAt(8);
+            dateChars[1] = isoDate.charAt(9);
+            dateChars[2] = '/';
+            dateChars[3] = isoDate.charAt(5);
+            dateChars[4] = isoDate.charAt(6);
+            dateChars[5] = '/';
+            isoDate.getChars(0, 4, dateChars, 6);
+            lastIsoDatePhrase = new Phrase(new String(dateChars));
+        }
+        return lastIsoDatePhrase;
+    }
+
+    private String formatDate(int day, int month, int year) {
+        dateChars[0] = (char) ('0' + day / 10);
+        dateChars[1] = (char) ('0' + day % 10);
+        dateChars[2] = '/';
+        dateChars[3] = (char) ('0' + month / 10);
+        dateChars[4] = (char) ('0' + month % 10);
+        dateChars[5] = '/';
+        dateChars[6] = (char) ('0' + year / 1000 % 10);
+        dateChars[7] = (char) ('0' + year / 100 % 10);
+        dateChars[8] = (char) ('0' + year / 10 % 10);
+        dateChars[9] = (char) ('0' + year % 10);
+        return new String(dateChars);
+    }
+
+    private String formatDate(LocalDate date) {
+        return formatDate(date.getDayOfMonth(), date.getMonthValue(), date.getYear());
+    }
+
+    private static PdfPCell prototype(int alignment) {
+        PdfPCell cell = new PdfPCell();
+        cell.setPadding(5);
+        cell.setHorizontalAlignment(alignment);
+        return cell;
+    }
+}
@@ -0,0 +1,13 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+import java.time.LocalDate;
+
+/** One movement as printed in a report, memberId is null for team movements. */
+public record ReportLine(Long memberId, MovementType type, LocalDate createdOn, String description, double amount) {
+
+    public ReportLine(MovementType type, LocalDate createdOn, String description, double amount) {
+        this(null, type, createdOn, description, amount);
+    }
+}
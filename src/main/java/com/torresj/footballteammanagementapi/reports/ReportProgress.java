@@ -0,0 +1,10 @@
+package com.torresj.footballteammanagementapi.reports;
+
+/** Receives how much of a report has been rendered, from 0 to 100. */
+@FunctionalInterface
+public interface ReportProgress {
+
+    ReportProgress NONE = percent -> {};
+
+    void update(int percent);
+}
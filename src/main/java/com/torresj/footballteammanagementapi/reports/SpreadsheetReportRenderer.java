@@ -0,0 +1,53 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import java.io.IOException;
+
+/**
+ * Writes the balance as one flat table for spreadsheets: a header and one row per movement, team
+ * movements first and then every member's. Rows are handed to the format as soon as they are read,
+ * so subclasses only keep what their format needs to buffer. Totals are left to the spreadsheet.
+ */
+public abstract class SpreadsheetReportRenderer {
+
+    private static final String TEAM_SECTION = "team";
+    private static final String MEMBER_SECTION = "member";
+
+    public void renderBalance(BalanceReportDataset dataset, ReportProgress progress) throws IOException {
+        writeHeader("section", "member", "createdOn", "description", "amount");
+
+        int members = dataset.members().size();
+        dataset.read(new BalanceReportDataset.Listener<IOException>() {
+            private int membersWritten;
+
+            @Override
+            public void teamMovement(ReportLine movement) throws IOException {
+                writeRow(TEAM_SECTION, "", movement);
+            }
+
+            @Override
+            public void teamMovementsEnd(double total) {
+                progress.update(30);
+            }
+
+            @Override
+            public void memberMovement(BalanceReportDataset.Member member, ReportLine movement) throws IOException {
+                writeRow(MEMBER_SECTION, member.fullName(), movement);
+            }
+
+            @Override
+            public void memberEnd(BalanceReportDataset.Member member, double balance) {
+                progress.update(30 + 65 * ++membersWritten / members);
+            }
+        });
+
+        finish();
+        progress.update(100);
+    }
+
+    protected abstract void writeHeader(String... columns) throws IOException;
+
+    protected abstract void writeRow(String section, String member, ReportLine movement) throws IOException;
+
+    // Writes whatever is still buffered, the caller closes the stream
+    protected abstract void finish() throws IOException;
+}
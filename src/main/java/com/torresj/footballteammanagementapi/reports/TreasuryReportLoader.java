@@ -0,0 +1,128 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import com.torresj.footballteammanagementapi.dtos.TreasuryPeriodDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryReportDto;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.enums.ReportGranularity;
+import com.torresj.footballteammanagementapi.repositories.MovementArchiveRepository;
+import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.repositories.TeamMovementArchiveRepository;
+import com.torresj.footballteammanagementapi.repositories.TeamMovementRepository;
+import com.torresj.footballteammanagementapi.repositories.projections.MemberPeriodTypeTotal;
+import com.torresj.footballteammanagementapi.repositories.projections.PeriodTypeTotal;
+import com.torresj.footballteammanagementapi.services.MatchService;
+import com.torresj.footballteammanagementapi.services.MovementService;
+import com.torresj.footballteammanagementapi.services.SeasonService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Builds a {@link TreasuryReportDto} from four grouped queries, one per movement table, live and
+ * archived. The database returns at most two rows per table and month, so the cost of the report
+ * follows the number of months and not the size of the ledger. Opening balances carried between
+ * seasons are left out, they would count the same money twice. Member charges are split by what
+ * they are: annual fees, match fines and any other charge added by hand.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class TreasuryReportLoader {
+
+    private final MovementRepository movementRepository;
+    private final MovementArchiveRepository movementArchiveRepository;
+    private final TeamMovementRepository teamMovementRepository;
+    private final TeamMovementArchiveRepository teamMovementArchiveRepository;
+
+    @Transactional(readOnly = true)
+    public TreasuryReportDto load(LocalDate from, LocalDate to, ReportGranularity granularity) {
+        String excluded = SeasonService.OPENING_BALANCE_DESCRIPTION + "%";
+        String fines = MatchService.MATCH_FINE_DESCRIPTION + "%";
+        String fee = MovementService.ANNUAL_FEE_DESCRIPTION;
+
+        // Keyed by yyyymm or yyyy, so periods come out in chronological order
+        Map<Integer, Period> periods = new TreeMap<>();
+        for (MemberPeriodTypeTotal row : movementRepository.sumAmountByMonthAndType(from, to, excluded, fee, fines)) {
+            period(periods, granularity, row).addMember(row);
+        }
+        for (MemberPeriodTypeTotal row : movementArchiveRepository.sumAmountByMonthAndType(from, to, excluded, fee, fines)) {
+            period(periods, granularity, row).addMember(row);
+        }
+        for (PeriodTypeTotal row : teamMovementRepository.sumAmountByMonthAndType(from, to, excluded)) {
+            period(periods, granularity, row).addTeam(row);
+        }
+        for (PeriodTypeTotal row : teamMovementArchiveRepository.sumAmountByMonthAndType(from, to, excluded)) {
+            period(periods, granularity, row).addTeam(row);
+        }
+
+        Period total = new Period("Total");
+        periods.values().forEach(total::add);
+
+        log.debug("[REPORTS] Treasury report loaded: {} periods by {}", periods.size(), granularity);
+        return new TreasuryReportDto(
+                from == null ? null : from.toString(),
+                to == null ? null : to.toString(),
+                granularity,
+                periods.values().stream().map(Period::toDto).toList(),
+                total.toDto());
+    }
+
+    private static Period period(Map<Integer, Period> periods, ReportGranularity granularity, PeriodTypeTotal row) {
+        int year = row.getPeriodYear();
+        int month = row.getPeriodMonth();
+        return granularity == ReportGranularity.YEAR
+                ? periods.computeIfAbsent(year, key -> new Period(String.valueOf(year)))
+                : periods.computeIfAbsent(year * 100 + month, key -> new Period(String.format("%d-%02d", year, month)));
+    }
+
+    private static class Period {
+        private final String label;
+        private double teamIncomes;
+        private double teamExpenses;
+        private double memberIncomes;
+        private double fines;
+        private double fees;
+        private double otherCharges;
+
+        Period(String label) {
+            this.label = label;
+        }
+
+        void addTeam(PeriodTypeTotal row) {
+            if (row.getType() == MovementType.INCOME) teamIncomes += row.getTotal();
+            else teamExpenses += row.getTotal();
+        }
+
+        // Member expenses are charges to the member, annual fees, fines or charges added by hand
+        void addMember(MemberPeriodTypeTotal row) {
+            if (row.getType() == MovementType.INCOME) {
+                memberIncomes += row.getTotal();
+            } else {
+                fees += row.getFees();
+                fines += row.getFines();
+                otherCharges += row.getTotal() - row.getFees() - row.getFines();
+            }
+        }
+
+        void add(Period period) {
+            teamIncomes += period.teamIncomes;
+            teamExpenses += period.teamExpenses;
+            memberIncomes += period.memberIncomes;
+            fines += period.fines;
+            fees += period.fees;
+            otherCharges += period.otherCharges;
+        }
+
+        // Member incomes are paid to the team
+        TreasuryPeriodDto toDto() {
+            return new TreasuryPeriodDto(
+                    label, teamIncomes, teamExpenses, memberIncomes, fines, fees, otherCharges,
+                    teamIncomes + teamExpenses + memberIncomes);
+        }
+    }
+}
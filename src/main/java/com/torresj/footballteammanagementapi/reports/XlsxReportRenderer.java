@@ -0,0 +1,77 @@
+package com.torresj.footballteammanagementapi.reports;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Balance as an XLSX workbook with real date and number cells. The streaming workbook keeps a
+ * window of {@link #ROW_WINDOW} rows in memory and moves older ones to a temporary file, which is
+ * deleted once the workbook is written.
+ */
+public class XlsxReportRenderer extends SpreadsheetReportRenderer {
+
+    private static final int ROW_WINDOW = 100;
+
+    private final OutputStream output;
+    private final SXSSFWorkbook workbook = new SXSSFWorkbook(ROW_WINDOW);
+    private final Sheet sheet = workbook.createSheet("Balance");
+    private final CellStyle headerStyle = workbook.createCellStyle();
+    private final CellStyle dateStyle = workbook.createCellStyle();
+    private int rows;
+
+    public XlsxReportRenderer(OutputStream output) {
+        this.output = output;
+        workbook.setCompressTempFiles(true);
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        headerStyle.setFont(bold);
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("dd/mm/yyyy"));
+    }
+
+    // Temporary rows are deleted even when rendering fails half way
+    @Override
+    public void renderBalance(BalanceReportDataset dataset, ReportProgress progress) throws IOException {
+        try {
+            super.renderBalance(dataset, progress);
+        } finally {
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    @Override
+    protected void writeHeader(String... columns) {
+        Row row = sheet.createRow(rows++);
+        for (int i = 0; i < columns.length; i++) {
+            Cell cell = row.createCell(i);
+            cell.setCellValue(columns[i]);
+            cell.setCellStyle(headerStyle);
+        }
+    }
+
+    @Override
+    protected void writeRow(String section, String member, ReportLine movement) {
+        Row row = sheet.createRow(rows++);
+        row.createCell(0).setCellValue(section);
+        row.createCell(1).setCellValue(member);
+        if (movement.createdOn() != null) {
+            Cell date = row.createCell(2);
+            date.setCellValue(movement.createdOn());
+            date.setCellStyle(dateStyle);
+        }
+        if (movement.description() != null) row.createCell(3).setCellValue(movement.description());
+        row.createCell(4).setCellValue(movement.amount());
+    }
+
+    @Override
+    protected void finish() throws IOException {
+        workbook.write(output);
+    }
+}
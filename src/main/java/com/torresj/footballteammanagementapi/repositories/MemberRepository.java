@@ -1,11 +1,51 @@
 package com.torresj.footballteammanagementapi.repositories;
 
 import com.torresj.footballteammanagementapi.entities.MemberEntity;
+import java.util.List;
 import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
 public interface MemberRepository extends JpaRepository<MemberEntity, Long> {
     Optional<MemberEntity> findByNameAndSurname(String name, String surname);
+
+    @Query("select concat(m.name, '.', m.surname) from MemberEntity m")
+    List<String> findAllUsernames();
+
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.injured = :injured where m.id = :id")
+    int updateInjured(@Param("id") long id, @Param("injured") boolean injured);
+
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.blocked = :blocked where m.id = :id")
+    int updateBlocked(@Param("id") long id, @Param("blocked") boolean blocked);
+
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.nonce = :nonce where m.id = :id and m.nonce < :nonce")
+    int advanceNonce(@Param("id") long id, @Param("nonce") long nonce);
+
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.password = :password where m.name = :name and m.surname = :surname")
+    int updatePassword(
+            @Param("name") String name, @Param("surname") String surname, @Param("password") String password);
+
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.password = :newPassword where m.id = :id and m.password = :oldPassword")
+    int updatePasswordIfUnchanged(
+            @Param("id") long id, @Param("oldPassword") String oldPassword, @Param("newPassword") String newPassword);
+
+    @Transactional
+    @Modifying
+    @Query("update MemberEntity m set m.alias = :alias where m.name = :name and m.surname = :surname")
+    int updateAlias(@Param("name") String name, @Param("surname") String surname, @Param("alias") String alias);
 }
@@ -0,0 +1,50 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.entities.MovementArchiveEntity;
+import com.torresj.footballteammanagementapi.repositories.projections.MemberPeriodTypeTotal;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MovementArchiveRepository extends JpaRepository<MovementArchiveEntity, Long> {
+
+    @Transactional
+    @Modifying
+    @Query("insert into MovementArchiveEntity (id, season, type, memberId, amount, description, createdOn, feeSeason) "
+            + "select m.id, :season, m.type, m.memberId, m.amount, m.description, m.createdOn, m.feeSeason "
+            + "from MovementEntity m where m.createdOn < :before")
+    int archiveCreatedBefore(@Param("season") int season, @Param("before") LocalDate before);
+
+    @Query(value = "select new com.torresj.footballteammanagementapi.dtos.MovementDto("
+            + "m.id, m.type, "
+            + "case when mem.id is null then 'Not found' else concat(mem.name, ' ', mem.surname) end, "
+            + "m.amount, m.description, cast(m.createdOn as String)) "
+            + "from MovementArchiveEntity m left join MemberEntity mem on mem.id = m.memberId "
+            + "where m.season = :season and (:memberId is null or m.memberId = :memberId) "
+            + "order by m.createdOn desc, m.id desc",
+            countQuery = "select count(m) from MovementArchiveEntity m "
+                    + "where m.season = :season and (:memberId is null or m.memberId = :memberId)")
+    Page<MovementDto> findDtos(@Param("season") int season, @Param("memberId") Long memberId, Pageable page);
+
+    @Query("select year(m.createdOn) as periodYear, month(m.createdOn) as periodMonth, m.type as type, "
+            + "sum(m.amount) as total, "
+            + "sum(case when m.feeSeason is not null or m.description = :feeDescription then m.amount else 0.0 end) as fees, "
+            + "sum(case when m.feeSeason is null and m.description like :fines then m.amount else 0.0 end) as fines "
+            + "from MovementArchiveEntity m "
+            + "where (:from is null or m.createdOn >= :from) and (:to is null or m.createdOn <= :to) "
+            + "and (m.description is null or m.description not like :excluded) "
+            + "group by year(m.createdOn), month(m.createdOn), m.type")
+    List<MemberPeriodTypeTotal> sumAmountByMonthAndType(
+            @Param("from") LocalDate from, @Param("to") LocalDate to, @Param("excluded") String excluded,
+            @Param("feeDescription") String feeDescription, @Param("fines") String fines);
+}
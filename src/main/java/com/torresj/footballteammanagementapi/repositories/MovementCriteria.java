@@ -0,0 +1,18 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+import java.time.LocalDate;
+
+/**
+ * Optional type and date range filters shared by member and team movement queries. A null field means no
+ * filter, and only the fields that are set become predicates.
+ */
+public record MovementCriteria(MovementType type, LocalDate from, LocalDate to) {
+
+    public static final MovementCriteria NONE = new MovementCriteria(null, null, null);
+
+    public boolean isEmpty() {
+        return type == null && from == null && to == null;
+    }
+}
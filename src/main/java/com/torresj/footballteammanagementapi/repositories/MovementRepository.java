@@ -1,21 +1,109 @@
 package com.torresj.footballteammanagementapi.repositories;
 
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
 import com.torresj.footballteammanagementapi.entities.MovementEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
+import com.torresj.footballteammanagementapi.reports.ReportLine;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.repositories.projections.MemberPeriodTypeTotal;
+import com.torresj.footballteammanagementapi.repositories.projections.MemberTotal;
+import com.torresj.footballteammanagementapi.repositories.projections.MovementDescriptionRow;
+import com.torresj.footballteammanagementapi.repositories.projections.TypeTotal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface MovementRepository extends JpaRepository<MovementEntity, Long> {
+public interface MovementRepository extends JpaRepository<MovementEntity, Long>, MovementRepositoryCustom {
     List<MovementEntity> findByMemberId(long memberId, Sort sort);
 
-    Page<MovementEntity> findByMemberId(long memberId, Pageable page);
+    String SELECT_MOVEMENT_DTO = "select new com.torresj.footballteammanagementapi.dtos.MovementDto("
+            + "m.id, m.type, "
+            + "case when mem.id is null then 'Not found' else concat(mem.name, ' ', mem.surname) end, "
+            + "m.amount, m.description, cast(m.createdOn as String)) "
+            + "from MovementEntity m left join MemberEntity mem on mem.id = m.memberId ";
 
-    Page<MovementEntity> findByDescriptionContainingIgnoreCase(String filter, Pageable page);
+    @Query(SELECT_MOVEMENT_DTO + "where m.id in :ids")
+    List<MovementDto> findDtosByIds(@Param("ids") Collection<Long> ids);
 
-    Page<MovementEntity> findByMemberIdAndDescriptionContainingIgnoreCase(long memberId, String filter, Pageable page);
+    @Query(SELECT_MOVEMENT_DTO + "where m.memberId = :memberId order by m.createdOn desc")
+    List<MovementDto> findDtosByMemberId(@Param("memberId") long memberId);
+
+    @Query(SELECT_MOVEMENT_DTO + "where m.id = :id")
+    Optional<MovementDto> findDtoById(@Param("id") long id);
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_MOVEMENT_DTO
+            + "where (:from is null or m.createdOn >= :from) and (:to is null or m.createdOn <= :to) "
+            + "order by m.createdOn, m.id")
+    Stream<MovementDto> streamDtos(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.torresj.footballteammanagementapi.reports.ReportLine("
+            + "m.memberId, m.type, m.createdOn, m.description, m.amount) from MovementEntity m "
+            + "order by m.memberId, m.createdOn desc, m.id desc")
+    Stream<ReportLine> streamReportLines();
+
+    @Query("select m.id as id, m.memberId as memberId, m.type as type, m.createdOn as createdOn, "
+            + "m.description as description from MovementEntity m "
+            + "where m.description is not null and m.description <> ''")
+    List<MovementDescriptionRow> findAllDescriptions();
+
+    // Fees of closed seasons live in the archive, they count as charged too
+    @Transactional
+    @Modifying
+    @Query("insert into MovementEntity (type, amount, memberId, description, feeSeason, createdOn) "
+            + "select :type, :amount, mem.id, :description, :season, :createdOn from MemberEntity mem "
+            + "where mem.name <> :adminUser "
+            + "and not exists (select 1 from MovementEntity m where m.memberId = mem.id and m.feeSeason = :season) "
+            + "and not exists (select 1 from MovementArchiveEntity a where a.memberId = mem.id and a.feeSeason = :season)")
+    int insertAnnualFee(
+            @Param("type") MovementType type,
+            @Param("amount") double amount,
+            @Param("description") String description,
+            @Param("season") int season,
+            @Param("createdOn") LocalDate createdOn,
+            @Param("adminUser") String adminUser);
+
+    @Query("select m.memberId as memberId, sum(m.amount) as total from MovementEntity m "
+            + "where m.createdOn < :before group by m.memberId")
+    List<MemberTotal> sumAmountByMemberBefore(@Param("before") LocalDate before);
+
+    @Query("select coalesce(sum(m.amount), 0) from MovementEntity m where m.type = :type and m.createdOn < :before")
+    double sumAmountByTypeBefore(@Param("type") MovementType type, @Param("before") LocalDate before);
+
+    @Transactional
+    @Modifying
+    @Query("delete from MovementEntity m where m.createdOn < :before")
+    int deleteCreatedBefore(@Param("before") LocalDate before);
+
+    @Query("select m.type as type, sum(m.amount) as total from MovementEntity m group by m.type")
+    List<TypeTotal> sumAmountByType();
+
+    @Query("select year(m.createdOn) as periodYear, month(m.createdOn) as periodMonth, m.type as type, "
+            + "sum(m.amount) as total, "
+            + "sum(case when m.feeSeason is not null or m.description = :feeDescription then m.amount else 0.0 end) as fees, "
+            + "sum(case when m.feeSeason is null and m.description like :fines then m.amount else 0.0 end) as fines "
+            + "from MovementEntity m "
+            + "where (:from is null or m.createdOn >= :from) and (:to is null or m.createdOn <= :to) "
+            + "and (m.description is null or m.description not like :excluded) "
+            + "group by year(m.createdOn), month(m.createdOn), m.type")
+    List<MemberPeriodTypeTotal> sumAmountByMonthAndType(
+            @Param("from") LocalDate from, @Param("to") LocalDate to, @Param("excluded") String excluded,
+            @Param("feeDescription") String feeDescription, @Param("fines") String fines);
 }
@@ -0,0 +1,40 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.StatementEntryDto;
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface MovementRepositoryCustom {
+    /**
+     * Page of movements ordered by (createdOn desc, id desc). Only the predicates that are actually set are
+     * added to the query, so it always runs on the (memberId, type, createdOn), (type, createdOn) or
+     * createdOn indexes instead of a full scan.
+     */
+    Page<MovementDto> findDtos(Long memberId, MovementCriteria criteria, Pageable page);
+
+    /**
+     * Movements ordered by (createdOn desc, id desc) that come strictly after the given position. Only the
+     * predicates that are actually set are added to the query, so the composite indexes can be used.
+     */
+    List<MovementDto> findDtosAfter(
+            Long memberId, MovementCriteria criteria, LocalDate afterCreatedOn, Long afterId, int limit);
+
+    /**
+     * Inserts every movement with a single JDBC batch in one transaction, bypassing the persistence
+     * context. Returns the generated ids in the same order as the given movements, when the driver
+     * doesn't return one key per row it throws and the whole batch is rolled back.
+     */
+    List<Long> insertAll(List<MovementEntity> movements);
+
+    /**
+     * Movements of a member, newest first, with the running balance of the member up to each one.
+     * The balance is computed over the whole history before the keyset filter is applied.
+     */
+    List<StatementEntryDto> findStatement(long memberId, LocalDate afterCreatedOn, Long afterId, int limit);
+}
@@ -0,0 +1,145 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.StatementEntryDto;
+import com.torresj.footballteammanagementapi.entities.MemberEntity;
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.repositories.specifications.MovementSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.criteria.JpaRoot;
+import org.hibernate.query.sqm.tree.SqmJoinType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class MovementRepositoryCustomImpl implements MovementRepositoryCustom {
+
+    private static final String INSERT_MOVEMENT =
+            "INSERT INTO movement_entity (type, member_id, amount, description, created_on) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SELECT_STATEMENT =
+            "SELECT id, type, amount, description, created_on, balance FROM ("
+                    + "SELECT id, type, amount, description, created_on, "
+                    + "SUM(amount) OVER (ORDER BY created_on, id) AS balance "
+                    + "FROM movement_entity WHERE member_id = ?) s ";
+    private static final String STATEMENT_ORDER = "ORDER BY created_on DESC, id DESC LIMIT ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<MovementDto> findDtos(Long memberId, MovementCriteria criteria, Pageable page) {
+        var specification = MovementSpecifications.matching(memberId, criteria);
+        var query = entityManager.createQuery(selectDtos(specification))
+                .setFirstResult((int) page.getOffset())
+                .setMaxResults(page.getPageSize());
+
+        // The count only runs when the page alone can't tell the total
+        return PageableExecutionUtils.getPage(query.getResultList(), page, () -> {
+            var builder = entityManager.getCriteriaBuilder();
+            var count = builder.createQuery(Long.class);
+            var root = count.from(MovementEntity.class);
+            count.select(builder.count(root)).where(specification.toPredicate(root, count, builder));
+            return entityManager.createQuery(count).getSingleResult();
+        });
+    }
+
+    @Override
+    public List<MovementDto> findDtosAfter(
+            Long memberId, MovementCriteria criteria, LocalDate afterCreatedOn, Long afterId, int limit) {
+        var specification = MovementSpecifications.matching(memberId, criteria)
+                .and(MovementSpecifications.before(afterCreatedOn, afterId));
+        return entityManager.createQuery(selectDtos(specification)).setMaxResults(limit).getResultList();
+    }
+
+    // Same projection as MovementRepository.SELECT_MOVEMENT_DTO, newest first
+    private CriteriaQuery<MovementDto> selectDtos(Specification<MovementEntity> specification) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(MovementDto.class);
+        var root = (JpaRoot<MovementEntity>) query.from(MovementEntity.class);
+        var member = root.join(MemberEntity.class, SqmJoinType.LEFT);
+        member.on(builder.equal(member.get("id"), root.get("memberId")));
+
+        Expression<String> memberName = builder.<String>selectCase()
+                .when(builder.isNull(member.get("id")), "Not found")
+                .otherwise(builder.concat(builder.concat(member.get("name"), " "), member.get("surname")));
+        query.select(builder.construct(MovementDto.class,
+                        root.get("id"),
+                        root.get("type"),
+                        memberName,
+                        root.get("amount"),
+                        root.get("description"),
+                        root.get("createdOn").as(String.class)))
+                .where(specification.toPredicate(root, query, builder))
+                .orderBy(builder.desc(root.get("createdOn")), builder.desc(root.get("id")));
+        return query;
+    }
+
+    @Override
+    @Transactional
+    public List<Long> insertAll(List<MovementEntity> movements) {
+        if (movements.isEmpty()) return List.of();
+        return jdbcTemplate.execute((ConnectionCallback<List<Long>>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_MOVEMENT, Statement.RETURN_GENERATED_KEYS)) {
+                for (MovementEntity movement : movements) {
+                    statement.setInt(1, movement.getType().ordinal());
+                    statement.setLong(2, movement.getMemberId());
+                    statement.setDouble(3, movement.getAmount());
+                    statement.setString(4, movement.getDescription());
+                    statement.setDate(5, Date.valueOf(movement.getCreatedOn()));
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+
+                List<Long> ids = new ArrayList<>(movements.size());
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    while (keys.next()) ids.add(keys.getLong(1));
+                }
+                // Not every driver returns a key per batched row, the ids couldn't be matched to the movements
+                if (ids.size() != movements.size())
+                    throw new IllegalStateException(
+                            "Batch insert returned " + ids.size() + " generated keys for " + movements.size() + " movements");
+                return ids;
+            }
+        });
+    }
+
+    @Override
+    public List<StatementEntryDto> findStatement(long memberId, LocalDate afterCreatedOn, Long afterId, int limit) {
+        RowMapper<StatementEntryDto> mapper = (rs, rowNum) -> new StatementEntryDto(
+                rs.getLong("id"),
+                MovementType.values()[rs.getInt("type")],
+                rs.getDouble("amount"),
+                rs.getString("description"),
+                rs.getObject("created_on", LocalDate.class).toString(),
+                rs.getDouble("balance"));
+        if (afterCreatedOn == null)
+            return jdbcTemplate.query(SELECT_STATEMENT + STATEMENT_ORDER, mapper, memberId, limit);
+
+        Date createdOn = Date.valueOf(afterCreatedOn);
+        return jdbcTemplate.query(
+                SELECT_STATEMENT + "WHERE created_on < ? OR (created_on = ? AND id < ?) " + STATEMENT_ORDER,
+                mapper, memberId, createdOn, createdOn, afterId, limit);
+    }
+}
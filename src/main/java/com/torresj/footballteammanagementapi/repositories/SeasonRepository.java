@@ -0,0 +1,15 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.entities.SeasonEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface SeasonRepository extends JpaRepository<SeasonEntity, Integer> {
+    List<SeasonEntity> findByOrderBySeasonDesc();
+
+    Optional<SeasonEntity> findFirstByOrderByNextSeasonStartDesc();
+}
@@ -0,0 +1,34 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.entities.TeamMovementArchiveEntity;
+import com.torresj.footballteammanagementapi.repositories.projections.PeriodTypeTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface TeamMovementArchiveRepository extends JpaRepository<TeamMovementArchiveEntity, Long> {
+
+    List<TeamMovementArchiveEntity> findBySeasonOrderByCreatedOnAscIdAsc(int season);
+
+    @Transactional
+    @Modifying
+    @Query("insert into TeamMovementArchiveEntity (id, season, type, amount, description, createdOn) "
+            + "select m.id, :season, m.type, m.amount, m.description, m.createdOn "
+            + "from TeamMovementEntity m where m.createdOn < :before")
+    int archiveCreatedBefore(@Param("season") int season, @Param("before") LocalDate before);
+
+    @Query("select year(m.createdOn) as periodYear, month(m.createdOn) as periodMonth, m.type as type, "
+            + "sum(m.amount) as total from TeamMovementArchiveEntity m "
+            + "where (:from is null or m.createdOn >= :from) and (:to is null or m.createdOn <= :to) "
+            + "and (m.description is null or m.description not like :excluded) "
+            + "group by year(m.createdOn), month(m.createdOn), m.type")
+    List<PeriodTypeTotal> sumAmountByMonthAndType(
+            @Param("from") LocalDate from, @Param("to") LocalDate to, @Param("excluded") String excluded);
+}
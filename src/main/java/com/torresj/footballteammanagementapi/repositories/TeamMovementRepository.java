@@ -1,16 +1,66 @@
 package com.torresj.footballteammanagementapi.repositories;
 
-import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
+import com.torresj.footballteammanagementapi.reports.ReportLine;
+import com.torresj.footballteammanagementapi.repositories.projections.DescriptionRow;
+import com.torresj.footballteammanagementapi.repositories.projections.PeriodTypeTotal;
+import com.torresj.footballteammanagementapi.repositories.projections.TypeTotal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.stream.Stream;
 
-import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
-import org.springframework.data.domain.Sort;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 @Repository
-public interface TeamMovementRepository extends JpaRepository<TeamMovementEntity, Long> {
-    List<TeamMovementEntity> findByOrderByCreatedOnAsc();
+public interface TeamMovementRepository
+        extends JpaRepository<TeamMovementEntity, Long>, JpaSpecificationExecutor<TeamMovementEntity>,
+        TeamMovementRepositoryCustom {
+    @QueryHints({
+            @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new com.torresj.footballteammanagementapi.reports.ReportLine("
+            + "m.type, m.createdOn, m.description, m.amount) from TeamMovementEntity m order by m.createdOn, m.id")
+    Stream<ReportLine> streamReportLines();
+
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.torresj.footballteammanagementapi.dtos.MovementDto("
+            + "m.id, m.type, '', m.amount, m.description, cast(m.createdOn as String)) from TeamMovementEntity m "
+            + "where (:from is null or m.createdOn >= :from) and (:to is null or m.createdOn <= :to) "
+            + "order by m.createdOn, m.id")
+    Stream<MovementDto> streamDtos(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("select m.id as id, m.type as type, m.createdOn as createdOn, m.description as description "
+            + "from TeamMovementEntity m "
+            + "where m.description is not null and m.description <> ''")
+    List<DescriptionRow> findAllDescriptions();
+
+    @Query("select coalesce(sum(m.amount), 0) from TeamMovementEntity m where m.createdOn < :before")
+    double sumAmountBefore(@Param("before") LocalDate before);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TeamMovementEntity m where m.createdOn < :before")
+    int deleteCreatedBefore(@Param("before") LocalDate before);
+
+    @Query("select m.type as type, sum(m.amount) as total from TeamMovementEntity m group by m.type")
+    List<TypeTotal> sumAmountByType();
+
+    @Query("select year(m.createdOn) as periodYear, month(m.createdOn) as periodMonth, m.type as type, "
+            + "sum(m.amount) as total from TeamMovementEntity m "
+            + "where (:from is null or m.createdOn >= :from) and (:to is null or m.createdOn <= :to) "
+            + "and (m.description is null or m.description not like :excluded) "
+            + "group by year(m.createdOn), month(m.createdOn), m.type")
+    List<PeriodTypeTotal> sumAmountByMonthAndType(
+            @Param("from") LocalDate from, @Param("to") LocalDate to, @Param("excluded") String excluded);
 }
@@ -0,0 +1,20 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface TeamMovementRepositoryCustom {
+    /**
+     * Movements matching the criteria ordered by (createdOn, id) that come strictly after the given
+     * position, read from the (createdOn, id) or (type, createdOn) indexes without a count query.
+     */
+    List<TeamMovementEntity> findAfter(MovementCriteria criteria, LocalDate afterCreatedOn, Long afterId, int limit);
+
+    /**
+     * Inserts a movement with the given date through JDBC, @CreationTimestamp would overwrite it on save.
+     */
+    int insert(MovementType type, double amount, String description, LocalDate createdOn);
+}
@@ -0,0 +1,43 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.repositories.specifications.TeamMovementSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class TeamMovementRepositoryCustomImpl implements TeamMovementRepositoryCustom {
+
+    private static final String INSERT_MOVEMENT =
+            "INSERT INTO team_movement_entity (type, amount, description, created_on) VALUES (?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TeamMovementEntity> findAfter(
+            MovementCriteria criteria, LocalDate afterCreatedOn, Long afterId, int limit) {
+        var builder = entityManager.getCriteriaBuilder();
+        var query = builder.createQuery(TeamMovementEntity.class);
+        var root = query.from(TeamMovementEntity.class);
+        var specification = TeamMovementSpecifications.matching(criteria)
+                .and(TeamMovementSpecifications.after(afterCreatedOn, afterId));
+        query.where(specification.toPredicate(root, query, builder))
+                .orderBy(builder.asc(root.get("createdOn")), builder.asc(root.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public int insert(MovementType type, double amount, String description, LocalDate createdOn) {
+        return jdbcTemplate.update(INSERT_MOVEMENT, type.ordinal(), amount, description, Date.valueOf(createdOn));
+    }
+}
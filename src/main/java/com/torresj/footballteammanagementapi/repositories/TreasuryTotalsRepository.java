@@ -0,0 +1,42 @@
+package com.torresj.footballteammanagementapi.repositories;
+
+import com.torresj.footballteammanagementapi.entities.TreasuryTotalsEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TreasuryTotalsRepository extends JpaRepository<TreasuryTotalsEntity, Integer> {
+
+    // Native, H2 rejects the cast Hibernate puts around the parameters of a JPQL relative update
+    @Transactional
+    @Modifying
+    @Query(value = "update treasury_totals set "
+            + "team_incomes = team_incomes + :teamIncomes, "
+            + "team_expenses = team_expenses + :teamExpenses, "
+            + "member_incomes = member_incomes + :memberIncomes, "
+            + "member_expenses = member_expenses + :memberExpenses "
+            + "where id = :id", nativeQuery = true)
+    int add(
+            @Param("id") int id,
+            @Param("teamIncomes") double teamIncomes,
+            @Param("teamExpenses") double teamExpenses,
+            @Param("memberIncomes") double memberIncomes,
+            @Param("memberExpenses") double memberExpenses);
+
+    // The totals row read right after has to come from the database, not from the persistence context
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update TreasuryTotalsEntity t set "
+            + "t.teamIncomes = (select coalesce(sum(m.amount), 0) from TeamMovementEntity m where m.type = :income), "
+            + "t.teamExpenses = (select coalesce(sum(m.amount), 0) from TeamMovementEntity m where m.type = :expense), "
+            + "t.memberIncomes = (select coalesce(sum(m.amount), 0) from MovementEntity m where m.type = :income), "
+            + "t.memberExpenses = (select coalesce(sum(m.amount), 0) from MovementEntity m where m.type = :expense) "
+            + "where t.id = :id")
+    int recompute(
+            @Param("id") int id, @Param("income") MovementType income, @Param("expense") MovementType expense);
+}
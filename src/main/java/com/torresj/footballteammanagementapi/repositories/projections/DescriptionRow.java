@@ -0,0 +1,15 @@
+package com.torresj.footballteammanagementapi.repositories.projections;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+import java.time.LocalDate;
+
+public interface DescriptionRow {
+    long getId();
+
+    MovementType getType();
+
+    LocalDate getCreatedOn();
+
+    String getDescription();
+}
@@ -0,0 +1,9 @@
+package com.torresj.footballteammanagementapi.repositories.projections;
+
+public interface MemberPeriodTypeTotal extends PeriodTypeTotal {
+    // Part of the total charged as annual fees
+    double getFees();
+
+    // Part of the total charged as fines for missing a match
+    double getFines();
+}
@@ -0,0 +1,7 @@
+package com.torresj.footballteammanagementapi.repositories.projections;
+
+public interface MemberTotal {
+    long getMemberId();
+
+    double getTotal();
+}
@@ -0,0 +1,5 @@
+package com.torresj.footballteammanagementapi.repositories.projections;
+
+public interface MovementDescriptionRow extends DescriptionRow {
+    long getMemberId();
+}
@@ -0,0 +1,13 @@
+package com.torresj.footballteammanagementapi.repositories.projections;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+public interface PeriodTypeTotal {
+    int getPeriodYear();
+
+    int getPeriodMonth();
+
+    MovementType getType();
+
+    double getTotal();
+}
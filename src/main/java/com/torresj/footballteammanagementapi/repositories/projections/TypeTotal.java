@@ -0,0 +1,9 @@
+package com.torresj.footballteammanagementapi.repositories.projections;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+public interface TypeTotal {
+    MovementType getType();
+
+    double getTotal();
+}
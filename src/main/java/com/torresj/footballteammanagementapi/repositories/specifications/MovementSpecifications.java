@@ -0,0 +1,45 @@
+package com.torresj.footballteammanagementapi.repositories.specifications;
+
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.repositories.MovementCriteria;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class MovementSpecifications {
+
+    private MovementSpecifications() {}
+
+    /**
+     * Adds a predicate only for the filters that are set, equalities first and ranges last, so the
+     * (memberId, type, createdOn), (type, createdOn) or createdOn indexes can be used instead of a full scan.
+     */
+    public static Specification<MovementEntity> matching(Long memberId, MovementCriteria criteria) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (memberId != null) predicates.add(builder.equal(root.get("memberId"), memberId));
+            if (criteria.type() != null) predicates.add(builder.equal(root.get("type"), criteria.type()));
+            if (criteria.from() != null)
+                predicates.add(builder.greaterThanOrEqualTo(root.get("createdOn"), criteria.from()));
+            if (criteria.to() != null)
+                predicates.add(builder.lessThanOrEqualTo(root.get("createdOn"), criteria.to()));
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset position in (createdOn desc, id desc) order, matches every movement when there is no position.
+     */
+    public static Specification<MovementEntity> before(LocalDate createdOn, Long id) {
+        return (root, query, builder) -> createdOn == null
+                ? builder.conjunction()
+                : builder.or(
+                        builder.lessThan(root.get("createdOn"), createdOn),
+                        builder.and(
+                                builder.equal(root.get("createdOn"), createdOn),
+                                builder.lessThan(root.get("id"), id)));
+    }
+}
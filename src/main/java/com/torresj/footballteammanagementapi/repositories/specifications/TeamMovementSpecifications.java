@@ -0,0 +1,44 @@
+package com.torresj.footballteammanagementapi.repositories.specifications;
+
+import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
+import com.torresj.footballteammanagementapi.repositories.MovementCriteria;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class TeamMovementSpecifications {
+
+    private TeamMovementSpecifications() {}
+
+    /**
+     * Adds a predicate only for the filters that are set, so an equality on type always comes first and
+     * the (type, createdOn) index can be used with or without a date range.
+     */
+    public static Specification<TeamMovementEntity> matching(MovementCriteria criteria) {
+        return (root, query, builder) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (criteria.type() != null) predicates.add(builder.equal(root.get("type"), criteria.type()));
+            if (criteria.from() != null)
+                predicates.add(builder.greaterThanOrEqualTo(root.get("createdOn"), criteria.from()));
+            if (criteria.to() != null)
+                predicates.add(builder.lessThanOrEqualTo(root.get("createdOn"), criteria.to()));
+            return builder.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /**
+     * Keyset position in (createdOn, id) order, matches every movement when there is no position.
+     */
+    public static Specification<TeamMovementEntity> after(LocalDate createdOn, Long id) {
+        return (root, query, builder) -> createdOn == null
+                ? builder.conjunction()
+                : builder.or(
+                        builder.greaterThan(root.get("createdOn"), createdOn),
+                        builder.and(
+                                builder.equal(root.get("createdOn"), createdOn),
+                                builder.greaterThan(root.get("id"), id)));
+    }
+}
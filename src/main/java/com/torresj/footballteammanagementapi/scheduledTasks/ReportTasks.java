@@ -0,0 +1,21 @@
+package com.torresj.footballteammanagementapi.scheduledTasks;
+
+import com.torresj.footballteammanagementapi.services.ReportJobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReportTasks {
+
+    private final ReportJobService reportJobService;
+
+    @Scheduled(fixedDelayString = "${reports.jobs.cleanup-interval:60000}")
+    public void deleteExpiredJobs(){
+        log.debug("Deleting expired report jobs");
+        reportJobService.deleteExpired();
+    }
+}
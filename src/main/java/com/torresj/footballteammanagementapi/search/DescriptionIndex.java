@@ -0,0 +1,186 @@
+package com.torresj.footballteammanagementapi.search;
+
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.repositories.MovementCriteria;
+import com.torresj.footballteammanagementapi.repositories.projections.DescriptionRow;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Inverted index from description tokens to ids. Every query token must appear inside a token of
+ * the description, found through an index of the 1 to 3 letter grams of every token; exact token
+ * matches weigh twice as much as partial matches and repeated tokens count once per occurrence.
+ * Ties are broken by newest id first.
+ */
+class DescriptionIndex {
+
+    private static final int GRAM_LENGTH = 3;
+
+    // Rebuilt off to the side and swapped at once, lookups never see a half loaded index
+    private volatile State state = new State();
+
+    synchronized <T extends DescriptionRow> void rebuild(List<T> rows, Function<T, Long> owner) {
+        State rebuilt = new State();
+        rows.forEach(row -> rebuilt.put(
+                row.getId(), owner.apply(row), row.getType(), row.getCreatedOn(), row.getDescription()));
+        state = rebuilt;
+    }
+
+    synchronized void put(long id, Long ownerId, MovementType type, LocalDate createdOn, String description) {
+        state.remove(id);
+        state.put(id, ownerId, type, createdOn, description);
+    }
+
+    synchronized void remove(long id) {
+        state.remove(id);
+    }
+
+    /** Ids matching the query and the criteria, most relevant first. */
+    List<Long> search(String query, Long ownerId, MovementCriteria criteria) {
+        State current = state;
+        return current.scores(query, ownerId, criteria).entrySet().stream()
+                .sorted(Map.Entry.<Long, Integer>comparingByValue()
+                        .reversed()
+                        .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    /**
+     * Up to limit ids matching the query and the criteria that come after the given creation date and
+     * id, in the same (createdOn, id) order the cursor queries use without a filter.
+     */
+    List<Long> searchAfter(
+            String query,
+            Long ownerId,
+            MovementCriteria criteria,
+            LocalDate afterCreatedOn,
+            Long afterId,
+            boolean newestFirst,
+            int limit) {
+        State current = state;
+        Comparator<Position> order = newestFirst ? Position.OLDEST_FIRST.reversed() : Position.OLDEST_FIRST;
+        Position cursor = afterCreatedOn == null ? null : new Position(afterCreatedOn, afterId);
+        return current.scores(query, ownerId, criteria).keySet().stream()
+                .map(id -> {
+                    var entry = current.entries.get(id);
+                    return entry == null ? null : new Position(entry.createdOn(), id);
+                })
+                .filter(position -> position != null && (cursor == null || order.compare(position, cursor) > 0))
+                .sorted(order)
+                .limit(limit)
+                .map(Position::id)
+                .toList();
+    }
+
+    int size() {
+        return state.entries.size();
+    }
+
+    private static Set<String> grams(String token, int length) {
+        Set<String> grams = new HashSet<>();
+        for (int size = 1; size <= length; size++) {
+            for (int start = 0; start + size <= token.length(); start++) grams.add(token.substring(start, start + size));
+        }
+        return grams;
+    }
+
+    private static class State {
+        private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final Map<String, Set<String>> tokensByGram = new ConcurrentHashMap<>();
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+
+        void put(long id, Long ownerId, MovementType type, LocalDate createdOn, String description) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            SearchTokenizer.tokenize(description).forEach(token -> frequencies.merge(token, 1, Integer::sum));
+            if (frequencies.isEmpty()) return;
+            frequencies.keySet().forEach(token -> postings.computeIfAbsent(token, key -> {
+                grams(key, GRAM_LENGTH).forEach(
+                        gram -> tokensByGram.computeIfAbsent(gram, g -> ConcurrentHashMap.newKeySet()).add(key));
+                return ConcurrentHashMap.newKeySet();
+            }).add(id));
+            entries.put(id, new Entry(ownerId, type, createdOn, frequencies));
+        }
+
+        void remove(long id) {
+            var entry = entries.remove(id);
+            if (entry == null) return;
+            entry.frequencies().keySet().forEach(token -> {
+                var ids = postings.get(token);
+                if (ids == null) return;
+                ids.remove(id);
+                if (!ids.isEmpty()) return;
+                postings.remove(token);
+                grams(token, GRAM_LENGTH).forEach(gram -> {
+                    var tokens = tokensByGram.get(gram);
+                    if (tokens == null) return;
+                    tokens.remove(token);
+                    if (tokens.isEmpty()) tokensByGram.remove(gram);
+                });
+            });
+        }
+
+        // Tokens containing the query token, narrowed down by the grams they share with it
+        Set<String> tokensContaining(String queryToken) {
+            int length = Math.min(queryToken.length(), GRAM_LENGTH);
+            Set<String> candidates = null;
+            for (int start = 0; start + length <= queryToken.length(); start++) {
+                var tokens = tokensByGram.getOrDefault(queryToken.substring(start, start + length), Set.of());
+                if (candidates == null) {
+                    candidates = new HashSet<>(tokens);
+                } else {
+                    candidates.retainAll(tokens);
+                }
+                if (candidates.isEmpty()) return Set.of();
+            }
+            candidates.removeIf(token -> !token.contains(queryToken));
+            return candidates;
+        }
+
+        Map<Long, Integer> scores(String query, Long ownerId, MovementCriteria criteria) {
+            var queryTokens = new LinkedHashSet<>(SearchTokenizer.tokenize(query));
+            if (queryTokens.isEmpty()) return Map.of();
+
+            Map<Long, Integer> scores = null;
+            for (String queryToken : queryTokens) {
+                Map<Long, Integer> matches = new HashMap<>();
+                for (String token : tokensContaining(queryToken)) {
+                    int weight = token.equals(queryToken) ? 2 : 1;
+                    for (Long id : postings.getOrDefault(token, Set.of())) {
+                        var entry = entries.get(id);
+                        if (entry == null || !entry.matches(ownerId, criteria)) continue;
+                        matches.merge(id, weight * entry.frequencies().getOrDefault(token, 0), Integer::sum);
+                    }
+                }
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    scores.keySet().retainAll(matches.keySet());
+                    scores.replaceAll((id, score) -> score + matches.get(id));
+                }
+                if (scores.isEmpty()) return Map.of();
+            }
+            return scores;
+        }
+    }
+
+    private record Position(LocalDate createdOn, long id) {
+
+        static final Comparator<Position> OLDEST_FIRST = Comparator.comparing(
+                        Position::createdOn, Comparator.<LocalDate>nullsFirst(Comparator.naturalOrder()))
+                .thenComparingLong(Position::id);
+    }
+
+    private record Entry(Long ownerId, MovementType type, LocalDate createdOn, Map<String, Integer> frequencies) {
+
+        boolean matches(Long ownerId, MovementCriteria criteria) {
+            if (ownerId != null && !ownerId.equals(this.ownerId)) return false;
+            if (criteria.type() != null && criteria.type() != type) return false;
+            if (criteria.from() != null && (createdOn == null || createdOn.isBefore(criteria.from()))) return false;
+            return criteria.to() == null || (createdOn != null && !createdOn.isAfter(criteria.to()));
+        }
+    }
+}
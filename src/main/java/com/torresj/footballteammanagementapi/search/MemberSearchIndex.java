@@ -0,0 +1,128 @@
+package com.torresj.footballteammanagementapi.search;
+
+import com.torresj.footballteammanagementapi.dtos.MemberSearchDto;
+import com.torresj.footballteammanagementapi.entities.MemberEntity;
+import com.torresj.footballteammanagementapi.repositories.MemberRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Prefix index over the normalized name, surname and alias of every member, used by typeahead
+ * searches. Tokens are kept in a sorted map so a prefix lookup is a range scan; readers never lock,
+ * writers are serialized and a rebuild replaces the whole index at once.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MemberSearchIndex {
+
+    private static final Comparator<MemberSearchDto> ORDER =
+            Comparator.comparing(MemberSearchDto::name, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparing(MemberSearchDto::surname, String.CASE_INSENSITIVE_ORDER)
+                    .thenComparingLong(MemberSearchDto::id);
+
+    private final MemberRepository memberRepository;
+
+    @Value("${admin.user}")
+    private final String adminUser;
+
+    // Rebuilt off to the side and swapped at once, lookups never see a half loaded index
+    private volatile State state = new State();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        State rebuilt = new State();
+        memberRepository.findAll().forEach(member -> put(rebuilt, member));
+        state = rebuilt;
+        log.debug("[MEMBER INDEX] {} members indexed", rebuilt.members.size());
+    }
+
+    public synchronized void put(MemberEntity member) {
+        put(state, member);
+    }
+
+    public synchronized void updateAlias(String name, String surname, String alias) {
+        State current = state;
+        Long id = current.idsByUsername.get(name + "." + surname);
+        if (id == null) return;
+        var indexed = current.members.get(id).member();
+        put(current, MemberEntity.builder()
+                .id(indexed.id())
+                .name(indexed.name())
+                .surname(indexed.surname())
+                .alias(alias)
+                .build());
+    }
+
+    public synchronized void remove(long id) {
+        state.remove(id);
+    }
+
+    public List<MemberSearchDto> search(String query, int limit) {
+        var queryTokens = SearchTokenizer.tokenize(query);
+        if (queryTokens.isEmpty() || limit <= 0) return List.of();
+
+        // Every query token has to be the prefix of some token of the member
+        State current = state;
+        Set<Long> candidates = null;
+        for (String queryToken : queryTokens) {
+            Set<Long> matches = new HashSet<>();
+            current.tokens.subMap(queryToken, true, queryToken + Character.MAX_VALUE, false)
+                    .values()
+                    .forEach(matches::addAll);
+            if (candidates == null) candidates = matches;
+            else candidates.retainAll(matches);
+            if (candidates.isEmpty()) return List.of();
+        }
+
+        return candidates.stream()
+                .map(current.members::get)
+                .filter(Objects::nonNull)
+                .map(IndexedMember::member)
+                .sorted(ORDER)
+                .limit(limit)
+                .toList();
+    }
+
+    private void put(State target, MemberEntity member) {
+        if (adminUser.equals(member.getName())) return;
+        target.remove(member.getId());
+        var dto = new MemberSearchDto(member.getId(), member.getName(), member.getSurname(), member.getAlias());
+        var memberTokens = new HashSet<String>();
+        memberTokens.addAll(SearchTokenizer.tokenize(dto.name()));
+        memberTokens.addAll(SearchTokenizer.tokenize(dto.surname()));
+        memberTokens.addAll(SearchTokenizer.tokenize(dto.alias()));
+        memberTokens.forEach(
+                token -> target.tokens.computeIfAbsent(token, key -> ConcurrentHashMap.newKeySet()).add(dto.id()));
+        target.members.put(dto.id(), new IndexedMember(dto, memberTokens));
+        target.idsByUsername.put(dto.name() + "." + dto.surname(), dto.id());
+    }
+
+    private static class State {
+        private final NavigableMap<String, Set<Long>> tokens = new ConcurrentSkipListMap<>();
+        private final Map<Long, IndexedMember> members = new ConcurrentHashMap<>();
+        private final Map<String, Long> idsByUsername = new ConcurrentHashMap<>();
+
+        void remove(long id) {
+            var indexed = members.remove(id);
+            if (indexed == null) return;
+            idsByUsername.remove(indexed.member().name() + "." + indexed.member().surname());
+            indexed.tokens().forEach(token -> {
+                var ids = tokens.get(token);
+                if (ids == null) return;
+                ids.remove(id);
+                if (ids.isEmpty()) tokens.remove(token);
+            });
+        }
+    }
+
+    private record IndexedMember(MemberSearchDto member, Set<String> tokens) {}
+}
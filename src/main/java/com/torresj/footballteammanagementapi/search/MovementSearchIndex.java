@@ -0,0 +1,123 @@
+package com.torresj.footballteammanagementapi.search;
+
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
+import com.torresj.footballteammanagementapi.repositories.MovementCriteria;
+import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.repositories.TeamMovementRepository;
+import com.torresj.footballteammanagementapi.repositories.projections.MovementDescriptionRow;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Full-text search over the descriptions of member and team movements. Entities saved or removed
+ * through JPA are kept in sync by {@link MovementSearchIndexListener}; bulk statements that skip the
+ * persistence context have to rebuild the affected index.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MovementSearchIndex {
+
+    private final MovementRepository movementRepository;
+    private final TeamMovementRepository teamMovementRepository;
+
+    private final DescriptionIndex movements = new DescriptionIndex();
+    private final DescriptionIndex teamMovements = new DescriptionIndex();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        rebuildMovements();
+        rebuildTeamMovements();
+    }
+
+    public void rebuildMovements() {
+        movements.rebuild(movementRepository.findAllDescriptions(), MovementDescriptionRow::getMemberId);
+        log.debug("[MOVEMENT INDEX] {} movements indexed", movements.size());
+    }
+
+    public void rebuildTeamMovements() {
+        teamMovements.rebuild(teamMovementRepository.findAllDescriptions(), row -> null);
+        log.debug("[MOVEMENT INDEX] {} team movements indexed", teamMovements.size());
+    }
+
+    public void put(MovementEntity movement) {
+        movements.put(
+                movement.getId(),
+                movement.getMemberId(),
+                movement.getType(),
+                movement.getCreatedOn(),
+                movement.getDescription());
+    }
+
+    public void put(TeamMovementEntity movement) {
+        teamMovements.put(
+                movement.getId(), null, movement.getType(), movement.getCreatedOn(), movement.getDescription());
+    }
+
+    /**
+     * Indexes movements inserted without the persistence context once the current transaction commits,
+     * nothing is indexed when it rolls back.
+     */
+    public void putAfterCommit(List<MovementEntity> inserted) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            inserted.forEach(this::put);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                inserted.forEach(MovementSearchIndex.this::put);
+            }
+        });
+    }
+
+    public void removeMovement(long id) {
+        movements.remove(id);
+    }
+
+    public void removeTeamMovement(long id) {
+        teamMovements.remove(id);
+    }
+
+    /** Ids of the member movements matching the query and the criteria, most relevant first. */
+    public List<Long> searchMovements(String query, Long memberId, MovementCriteria criteria) {
+        return movements.search(query, memberId, criteria);
+    }
+
+    /**
+     * Up to limit ids of the member movements matching the query and the criteria, newest first,
+     * after the given cursor position. Cursor pages filter with the same matching as relevance pages.
+     */
+    public List<Long> searchMovementsAfter(
+            String query, Long memberId, MovementCriteria criteria, LocalDate afterCreatedOn, Long afterId, int limit) {
+        return movements.searchAfter(query, memberId, criteria, afterCreatedOn, afterId, true, limit);
+    }
+
+    /** True when the query has no word to look for, callers treat it as no filter. */
+    public boolean isBlank(String query) {
+        return SearchTokenizer.tokenize(query).isEmpty();
+    }
+
+    /** Ids of the team movements matching the query and the criteria, most relevant first. */
+    public List<Long> searchTeamMovements(String query, MovementCriteria criteria) {
+        return teamMovements.search(query, null, criteria);
+    }
+
+    /**
+     * Up to limit ids of the team movements matching the query and the criteria, oldest first, after
+     * the given cursor position.
+     */
+    public List<Long> searchTeamMovementsAfter(
+            String query, MovementCriteria criteria, LocalDate afterCreatedOn, Long afterId, int limit) {
+        return teamMovements.searchAfter(query, null, criteria, afterCreatedOn, afterId, false, limit);
+    }
+}
@@ -0,0 +1,50 @@
+package com.torresj.footballteammanagementapi.search;
+
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.function.Consumer;
+
+/** Entity listener that applies movement changes to the search index once they are committed. */
+@Component
+@RequiredArgsConstructor
+public class MovementSearchIndexListener {
+
+    // Resolved lazily, the index depends on repositories that need the entity manager factory
+    private final ObjectProvider<MovementSearchIndex> movementSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void put(Object entity) {
+        if (entity instanceof MovementEntity movement) afterCommit(index -> index.put(movement));
+        else if (entity instanceof TeamMovementEntity movement) afterCommit(index -> index.put(movement));
+    }
+
+    @PostRemove
+    public void remove(Object entity) {
+        if (entity instanceof MovementEntity movement) afterCommit(index -> index.removeMovement(movement.getId()));
+        else if (entity instanceof TeamMovementEntity movement)
+            afterCommit(index -> index.removeTeamMovement(movement.getId()));
+    }
+
+    private void afterCommit(Consumer<MovementSearchIndex> action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.accept(movementSearchIndex.getObject());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.accept(movementSearchIndex.getObject());
+            }
+        });
+    }
+}
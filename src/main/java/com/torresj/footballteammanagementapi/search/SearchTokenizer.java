@@ -0,0 +1,25 @@
+package com.torresj.footballteammanagementapi.search;
+
+import java.text.Normalizer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/** Splits free text into lowercase tokens without accents, shared by every in-memory search index. */
+final class SearchTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private SearchTokenizer() {}
+
+    static List<String> tokenize(String value) {
+        if (value == null || value.isBlank()) return List.of();
+        String normalized =
+                DIACRITICS.matcher(Normalizer.normalize(value, Normalizer.Form.NFD))
+                        .replaceAll("")
+                        .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARATORS.split(normalized)).filter(token -> !token.isEmpty()).toList();
+    }
+}
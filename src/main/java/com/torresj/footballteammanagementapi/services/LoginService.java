@@ -2,7 +2,8 @@ package com.torresj.footballteammanagementapi.services;
 
 import com.torresj.footballteammanagementapi.dtos.ResponseLoginDto;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
 
 public interface LoginService {
-    ResponseLoginDto login(String username, String password, long nonce) throws MemberNotFoundException;
+    ResponseLoginDto login(String username, String password, long nonce) throws MemberNotFoundException, ServerBusyException;
 }
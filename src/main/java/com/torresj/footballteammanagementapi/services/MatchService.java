@@ -8,6 +8,9 @@ import java.time.LocalDate;
 import java.util.List;
 
 public interface MatchService {
+  // Members called up who miss the match are fined with this description and the match day
+  String MATCH_FINE_DESCRIPTION = "Multa por no ir al partido del ";
+
   MatchDto get(long id) throws MatchNotFoundException;
 
   MatchDto getNext() throws NextMatchException;
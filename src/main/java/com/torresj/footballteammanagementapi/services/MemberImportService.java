@@ -0,0 +1,11 @@
+package com.torresj.footballteammanagementapi.services;
+
+import com.torresj.footballteammanagementapi.dtos.MemberImportSummaryDto;
+import com.torresj.footballteammanagementapi.enums.DataFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface MemberImportService {
+    MemberImportSummaryDto importMembers(InputStream input, DataFormat format) throws IOException;
+}
@@ -1,6 +1,7 @@
 package com.torresj.footballteammanagementapi.services;
 
 import com.torresj.footballteammanagementapi.dtos.MemberDto;
+import com.torresj.footballteammanagementapi.dtos.MemberSearchDto;
 import com.torresj.footballteammanagementapi.enums.Role;
 import com.torresj.footballteammanagementapi.exceptions.MemberAlreadyExistsException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
@@ -15,6 +16,7 @@ public interface MemberService {
 
     MemberDto get(String username) throws MemberNotFoundException;
     List<MemberDto> get();
+    List<MemberSearchDto> search(String query, int limit);
     MemberDto update(long id, String name, String alias, String surname, String phone, int nCaptaincies, Role role) throws MemberNotFoundException;
     MemberDto create(String name, String alias, String surname, String phone, String password, Role role) throws MemberAlreadyExistsException;
     void updateMyPassword(String user, String newPassword) throws MemberNotFoundException;
@@ -0,0 +1,13 @@
+package com.torresj.footballteammanagementapi.services;
+
+import com.torresj.footballteammanagementapi.enums.DataFormat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface MovementExportService {
+    void export(DataFormat format, LocalDate from, LocalDate to, OutputStream output) throws IOException;
+
+    void exportTeam(DataFormat format, LocalDate from, LocalDate to, OutputStream output) throws IOException;
+}
@@ -1,32 +1,52 @@
 package com.torresj.footballteammanagementapi.services;
 
+import com.torresj.footballteammanagementapi.dtos.AnnualFeeSummaryDto;
+import com.torresj.footballteammanagementapi.dtos.BulkMovementSummaryDto;
+import com.torresj.footballteammanagementapi.dtos.CreateMovementDto;
+import com.torresj.footballteammanagementapi.dtos.MemberStatementDto;
 import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.MovementSliceDto;
 import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
 import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.exceptions.MovementNotFoundException;
 import org.springframework.data.domain.Page;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface MovementService {
-  Page<MovementDto> get(Long memberId, String filter, int nElements, int nPage);
+  // Annual fees charged before feeSeason existed are only recognised by this description
+  String ANNUAL_FEE_DESCRIPTION = "Cuota anual de la peña";
+
+  Page<MovementDto> get(
+      Long memberId, String filter, MovementType type, LocalDate from, LocalDate to, int nElements, int nPage);
+
+  MovementSliceDto getAfter(
+      Long memberId, String filter, MovementType type, LocalDate from, LocalDate to, String after, int limit)
+      throws InvalidCursorException;
 
   MovementDto get(long id) throws MovementNotFoundException;
 
   List<MovementDto> getByMember(long memberId) throws MemberNotFoundException;
 
+  MemberStatementDto getStatement(long memberId, String after, int limit)
+      throws MemberNotFoundException, InvalidCursorException;
+
   double getBalance(long memberId);
 
   MovementDto create(long memberId, MovementType type, double amount, String description)
       throws MemberNotFoundException;
 
+  BulkMovementSummaryDto createAll(List<CreateMovementDto> movements);
+
   MovementDto update(long id, double amount, String description)
       throws MovementNotFoundException, MemberNotFoundException;
 
   void delete(long id);
 
-  void addAnnualTeamPay();
+  AnnualFeeSummaryDto addAnnualTeamPay(int season);
 
   TotalBalanceDto getTotalBalance();
 }
@@ -0,0 +1,15 @@
+package com.torresj.footballteammanagementapi.services;
+
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
+
+import java.util.List;
+
+public interface PasswordService {
+    String encode(String rawPassword) throws ServerBusyException;
+
+    List<String> encodeAll(List<String> rawPasswords);
+
+    boolean matches(String rawPassword, String encodedPassword) throws ServerBusyException;
+
+    boolean needsRehash(String encodedPassword);
+}
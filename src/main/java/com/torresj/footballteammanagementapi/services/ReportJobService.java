@@ -0,0 +1,25 @@
+package com.torresj.footballteammanagementapi.services;
+
+import com.torresj.footballteammanagementapi.dtos.ReportJobDto;
+import com.torresj.footballteammanagementapi.enums.ReportType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidReportParametersException;
+import com.torresj.footballteammanagementapi.exceptions.ReportJobNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ReportJobNotReadyException;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Map;
+
+public interface ReportJobService {
+    ReportJobDto submit(ReportType type, Map<String, String> parameters)
+            throws InvalidReportParametersException, ServerBusyException;
+
+    ReportJobDto get(String id) throws ReportJobNotFoundException;
+
+    ReportJobDto getFinished(String id) throws ReportJobNotFoundException, ReportJobNotReadyException;
+
+    void writeContent(String id, OutputStream output) throws IOException;
+
+    void deleteExpired();
+}
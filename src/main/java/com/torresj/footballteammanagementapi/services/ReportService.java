@@ -1,9 +1,29 @@
 package com.torresj.footballteammanagementapi.services;
 
-import com.itextpdf.text.DocumentException;
+import com.torresj.footballteammanagementapi.dtos.TreasuryReportDto;
+import com.torresj.footballteammanagementapi.enums.ReportFormat;
+import com.torresj.footballteammanagementapi.enums.ReportGranularity;
+import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.reports.ReportProgress;
 
-import java.io.InputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
 
 public interface ReportService {
-    byte[] getBalancePDF() throws DocumentException;
+    /**
+     * ETag of the balance PDF, derived from the ledger version and the day it prints, so a conditional
+     * request is answered without rendering it.
+     */
+    String getBalancePDFETag();
+
+    byte[] getMemberStatementPDF(long memberId) throws MemberNotFoundException, IOException;
+
+    byte[] getMemberStatementPDF(String username) throws MemberNotFoundException, IOException;
+
+    void writeBalance(ReportFormat format, OutputStream output, ReportProgress progress) throws IOException;
+
+    TreasuryReportDto getTreasuryReport(LocalDate from, LocalDate to, ReportGranularity granularity);
+
+    byte[] getTreasuryReportPDF(LocalDate from, LocalDate to, ReportGranularity granularity) throws IOException;
 }
@@ -0,0 +1,26 @@
+package com.torresj.footballteammanagementapi.services;
+
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.SeasonDto;
+import com.torresj.footballteammanagementapi.exceptions.InvalidSeasonStartException;
+import com.torresj.footballteammanagementapi.exceptions.SeasonAlreadyClosedException;
+import com.torresj.footballteammanagementapi.exceptions.SeasonNotFoundException;
+import org.springframework.data.domain.Page;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface SeasonService {
+  // Opening movements carry the previous season's balances, they are not new incomes or expenses
+  String OPENING_BALANCE_DESCRIPTION = "Saldo inicial tras la temporada ";
+
+  SeasonDto close(int season, LocalDate nextSeasonStart)
+      throws SeasonAlreadyClosedException, InvalidSeasonStartException;
+
+  List<SeasonDto> get();
+
+  Page<MovementDto> getMovements(int season, Long memberId, int nElements, int nPage)
+      throws SeasonNotFoundException;
+
+  List<MovementDto> getTeamMovements(int season) throws SeasonNotFoundException;
+}
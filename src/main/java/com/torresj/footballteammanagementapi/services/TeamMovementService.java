@@ -1,15 +1,22 @@
 package com.torresj.footballteammanagementapi.services;
 
 import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.MovementSliceDto;
 import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
 import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.exceptions.MovementNotFoundException;
-import java.util.List;
+import java.time.LocalDate;
 import org.springframework.data.domain.Page;
 
 public interface TeamMovementService {
-  List<MovementDto> get();
+  Page<MovementDto> get(
+      String filter, MovementType type, LocalDate from, LocalDate to, int nElements, int nPage);
+
+  MovementSliceDto getAfter(
+      String filter, MovementType type, LocalDate from, LocalDate to, String after, int limit)
+      throws InvalidCursorException;
 
   MovementDto get(long id) throws MovementNotFoundException;
 
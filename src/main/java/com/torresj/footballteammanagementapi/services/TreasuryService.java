@@ -0,0 +1,17 @@
+package com.torresj.footballteammanagementapi.services;
+
+import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryTotalsDto;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+
+public interface TreasuryService {
+  void addMemberMovement(MovementType type, double amount);
+
+  void addTeamMovement(MovementType type, double amount);
+
+  TotalBalanceDto getMembersBalance();
+
+  TotalBalanceDto getTeamBalance();
+
+  TreasuryTotalsDto recompute();
+}
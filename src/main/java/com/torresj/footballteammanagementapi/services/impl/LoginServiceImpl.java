@@ -1,14 +1,14 @@
 package com.torresj.footballteammanagementapi.services.impl;
 
 import com.torresj.footballteammanagementapi.dtos.ResponseLoginDto;
-import com.torresj.footballteammanagementapi.entities.MemberEntity;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
 import com.torresj.footballteammanagementapi.repositories.MemberRepository;
 import com.torresj.footballteammanagementapi.services.JwtService;
 import com.torresj.footballteammanagementapi.services.LoginService;
+import com.torresj.footballteammanagementapi.services.PasswordService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -18,11 +18,11 @@ public class LoginServiceImpl implements LoginService {
 
     private final MemberRepository memberRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder encoder;
+    private final PasswordService passwordService;
 
     @Override
     public ResponseLoginDto login(String userName, String password, long nonce)
-            throws MemberNotFoundException {
+            throws MemberNotFoundException, ServerBusyException {
         log.debug("[LOGIN] Finding user");
         if (userName.split("\\.").length != 2) {
             throw new MemberNotFoundException(userName);
@@ -33,27 +33,24 @@ public class LoginServiceImpl implements LoginService {
                         .findByNameAndSurname(userName.split("\\.")[0], userName.split("\\.")[1])
                         .orElseThrow(() -> new MemberNotFoundException(userName));
 
-        if (!encoder.matches(password, member.getPassword()))
+        if (!passwordService.matches(password, member.getPassword()))
             throw new MemberNotFoundException(userName);
 
-        if (member.getNonce() >= nonce) {
+        // Only one login can move the nonce forward, the rest are replays
+        if (memberRepository.advanceNonce(member.getId(), nonce) == 0) {
             log.warn("[LOGIN] Error. Nonce already used");
             throw new MemberNotFoundException(userName);
         }
 
-        memberRepository.save(
-                MemberEntity.builder()
-                        .id(member.getId())
-                        .name(member.getName())
-                        .alias(member.getAlias())
-                        .surname(member.getSurname())
-                        .password(member.getPassword())
-                        .phone(member.getPhone())
-                        .role(member.getRole())
-                        .nCaptaincies(member.getNCaptaincies())
-                        .nonce(nonce)
-                        .injured(member.isInjured())
-                        .build());
+        if (passwordService.needsRehash(member.getPassword())) {
+            log.debug("[LOGIN] Password hashed with a different cost. Rehashing ...");
+            try {
+                memberRepository.updatePasswordIfUnchanged(
+                        member.getId(), member.getPassword(), passwordService.encode(password));
+            } catch (ServerBusyException e) {
+                log.warn("[LOGIN] Rehash skipped, it will be retried on next login");
+            }
+        }
 
         log.debug("[LOGIN] Login success. Generating JWT ...");
         String jwt = jwtService.createJWS(userName);
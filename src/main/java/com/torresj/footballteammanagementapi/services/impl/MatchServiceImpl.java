@@ -12,6 +12,7 @@ import com.torresj.footballteammanagementapi.repositories.MatchRepository;
 import com.torresj.footballteammanagementapi.repositories.MemberRepository;
 import com.torresj.footballteammanagementapi.repositories.MovementRepository;
 import com.torresj.footballteammanagementapi.services.MatchService;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
@@ -21,6 +22,7 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -29,6 +31,7 @@ public class MatchServiceImpl implements MatchService {
   private final MemberRepository memberRepository;
   private final MatchRepository matchRepository;
   private final MovementRepository movementRepository;
+  private final TreasuryService treasuryService;
 
   private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
@@ -82,26 +85,31 @@ public class MatchServiceImpl implements MatchService {
   }
 
   @Override
+  @Transactional
   public void close(long id) throws MatchNotFoundException {
     var match = matchRepository.findById(id).orElseThrow(() -> new MatchNotFoundException(id));
     match.setClosed(true);
     matchRepository.save(match);
-    Stream.concat(match.getNotAvailablePlayers().stream(), match.getUnConfirmedPlayers().stream())
-        .map(memberRepository::findById)
-        .filter(Optional::isPresent)
-        .map(Optional::get)
-        .filter(member -> !member.isInjured())
-        .map(
-            member ->
-                MovementEntity.builder()
-                    .type(MovementType.EXPENSE)
-                    .amount(-1)
-                    .description(
-                        "Multa por no ir al partido del "
-                            + DateTimeFormatter.ofPattern("dd/MM/yy").format(match.getMatchDay()))
-                    .memberId(member.getId())
-                    .build())
-        .forEach(movementRepository::save);
+    var fines =
+        Stream.concat(match.getNotAvailablePlayers().stream(), match.getUnConfirmedPlayers().stream())
+            .map(memberRepository::findById)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .filter(member -> !member.isInjured())
+            .map(
+                member ->
+                    MovementEntity.builder()
+                        .type(MovementType.EXPENSE)
+                        .amount(-1)
+                        .description(
+                            MATCH_FINE_DESCRIPTION
+                                + DateTimeFormatter.ofPattern("dd/MM/yy").format(match.getMatchDay()))
+                        .memberId(member.getId())
+                        .build())
+            .toList();
+    movementRepository.saveAll(fines);
+    treasuryService.addMemberMovement(
+        MovementType.EXPENSE, fines.stream().mapToDouble(MovementEntity::getAmount).sum());
 
     if (match.getCaptainTeamA() != null) {
       var captainA = memberRepository.findById(match.getCaptainTeamA());
@@ -403,6 +411,7 @@ public class MatchServiceImpl implements MatchService {
   }
 
   @Override
+  @Transactional
   public void closePastMatches() {
     matchRepository
         .findByClosedAndMatchDayBefore(false, LocalDate.now())
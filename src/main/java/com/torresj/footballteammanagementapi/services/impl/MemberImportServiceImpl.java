@@ -0,0 +1,204 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torresj.footballteammanagementapi.dtos.ImportMemberDto;
+import com.torresj.footballteammanagementapi.dtos.MemberImportResultDto;
+import com.torresj.footballteammanagementapi.dtos.MemberImportSummaryDto;
+import com.torresj.footballteammanagementapi.enums.DataFormat;
+import com.torresj.footballteammanagementapi.enums.ImportRowStatus;
+import com.torresj.footballteammanagementapi.enums.Role;
+import com.torresj.footballteammanagementapi.reports.LedgerVersion;
+import com.torresj.footballteammanagementapi.repositories.MemberRepository;
+import com.torresj.footballteammanagementapi.search.MemberSearchIndex;
+import com.torresj.footballteammanagementapi.services.MemberImportService;
+import com.torresj.footballteammanagementapi.services.PasswordService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MemberImportServiceImpl implements MemberImportService {
+
+    private static final int CHUNK_SIZE = 500;
+    private static final String INSERT_MEMBER =
+            "INSERT INTO member_entity (name, alias, surname, phone, role, password, n_captaincies, nonce, injured, blocked) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, 0, 0, FALSE, FALSE)";
+
+    private final MemberRepository memberRepository;
+    private final MemberSearchIndex memberSearchIndex;
+    private final LedgerVersion ledgerVersion;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordService passwordService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${default.password}")
+    private final String defaultPassword;
+
+    @Override
+    public MemberImportSummaryDto importMembers(InputStream input, DataFormat format) throws IOException {
+        Set<String> usernames = new HashSet<>(memberRepository.findAllUsernames());
+        List<MemberImportResultDto> results = new ArrayList<>();
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        // Every member imported without password gets the same default one, so it is hashed only once
+        String defaultPasswordHash = passwordService.encodeAll(List.of(defaultPassword)).get(0);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            Map<String, Integer> header = format == DataFormat.CSV ? readCsvHeader(reader) : Map.of();
+            String line;
+            int rowNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                rowNumber++;
+                ImportMemberDto member;
+                try {
+                    member = format == DataFormat.CSV ? parseCsvRow(line, header) : parseJsonRow(line);
+                } catch (IllegalArgumentException | JsonProcessingException e) {
+                    results.add(new MemberImportResultDto(rowNumber, null, ImportRowStatus.INVALID, "Malformed row"));
+                    continue;
+                }
+
+                String error = validate(member);
+                String username = member.name() + "." + member.surname();
+                if (error != null) {
+                    results.add(new MemberImportResultDto(rowNumber, username, ImportRowStatus.INVALID, error));
+                } else if (!usernames.add(username)) {
+                    results.add(new MemberImportResultDto(rowNumber, username, ImportRowStatus.DUPLICATED, "Member already exists"));
+                } else {
+                    chunk.add(new ImportRow(rowNumber, username, member));
+                    if (chunk.size() == CHUNK_SIZE) {
+                        results.addAll(insertChunk(chunk, defaultPasswordHash));
+                        chunk.clear();
+                    }
+                }
+            }
+        }
+        results.addAll(insertChunk(chunk, defaultPasswordHash));
+        results.sort(Comparator.comparingInt(MemberImportResultDto::row));
+        // Batched inserts don't return the generated ids, so the index is reloaded once per import
+        memberSearchIndex.rebuild();
+
+        int imported = (int) results.stream().filter(result -> result.status() == ImportRowStatus.IMPORTED).count();
+        if (imported > 0) ledgerVersion.bump();
+        log.debug("[MEMBERS IMPORT] {} rows processed, {} imported", results.size(), imported);
+        return new MemberImportSummaryDto(results.size(), imported, results.size() - imported, results);
+    }
+
+    private List<MemberImportResultDto> insertChunk(List<ImportRow> chunk, String defaultPasswordHash) {
+        if (chunk.isEmpty()) return List.of();
+
+        List<String> rawPasswords = chunk.stream()
+                .map(row -> row.member().password())
+                .filter(password -> password != null && !password.isBlank())
+                .toList();
+        Iterator<String> hashes = passwordService.encodeAll(rawPasswords).iterator();
+
+        List<Object[]> batch = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            ImportMemberDto member = row.member();
+            batch.add(new Object[]{
+                    member.name(),
+                    member.alias(),
+                    member.surname(),
+                    member.phone() == null ? "" : member.phone(),
+                    (member.role() == null ? Role.USER : member.role()).ordinal(),
+                    member.password() == null || member.password().isBlank() ? defaultPasswordHash : hashes.next()
+            });
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_MEMBER, batch));
+
+        return chunk.stream()
+                .map(row -> new MemberImportResultDto(row.row(), row.username(), ImportRowStatus.IMPORTED, null))
+                .toList();
+    }
+
+    private String validate(ImportMemberDto member) {
+        if (member.name() == null || member.name().isBlank()) return "Name is required";
+        if (member.surname() == null || member.surname().isBlank()) return "Surname is required";
+        if (member.name().contains(".") || member.surname().contains("."))
+            return "Name and surname can't contain dots";
+        return null;
+    }
+
+    private ImportMemberDto parseJsonRow(String line) throws JsonProcessingException {
+        return objectMapper.readValue(line, ImportMemberDto.class);
+    }
+
+    private Map<String, Integer> readCsvHeader(BufferedReader reader) throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        if (line == null) return Map.of();
+
+        List<String> columns = splitCsvLine(line);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.size(); i++) {
+            header.put(columns.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+
+    private ImportMemberDto parseCsvRow(String line, Map<String, Integer> header) {
+        List<String> values = splitCsvLine(line);
+        String role = column(values, header, "role");
+        return new ImportMemberDto(
+                column(values, header, "name"),
+                column(values, header, "alias"),
+                column(values, header, "surname"),
+                column(values, header, "phone"),
+                role == null || role.isBlank() ? null : Role.valueOf(role.trim().toUpperCase(Locale.ROOT)),
+                column(values, header, "password"));
+    }
+
+    private String column(List<String> values, Map<String, Integer> header, String name) {
+        Integer index = header.get(name);
+        if (index == null || index >= values.size()) return null;
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private List<String> splitCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted value");
+        values.add(current.toString());
+        return values;
+    }
+
+    private record ImportRow(int row, String username, ImportMemberDto member) {}
+}
@@ -1,11 +1,14 @@
 package com.torresj.footballteammanagementapi.services.impl;
 
 import com.torresj.footballteammanagementapi.dtos.MemberDto;
+import com.torresj.footballteammanagementapi.dtos.MemberSearchDto;
 import com.torresj.footballteammanagementapi.entities.MemberEntity;
 import com.torresj.footballteammanagementapi.enums.Role;
 import com.torresj.footballteammanagementapi.exceptions.MemberAlreadyExistsException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.reports.LedgerVersion;
 import com.torresj.footballteammanagementapi.repositories.MemberRepository;
+import com.torresj.footballteammanagementapi.search.MemberSearchIndex;
 import com.torresj.footballteammanagementapi.security.CustomUserDetails;
 import com.torresj.footballteammanagementapi.services.MemberService;
 import com.torresj.footballteammanagementapi.services.MovementService;
@@ -23,6 +26,8 @@ public class MemberServiceImpl implements MemberService, UserDetailsService {
 
   private final MemberRepository memberRepository;
   private final MovementService movementService;
+  private final MemberSearchIndex memberSearchIndex;
+  private final LedgerVersion ledgerVersion;
 
   @Value("${admin.user}")
   private final String adminUser;
@@ -45,39 +50,18 @@ public class MemberServiceImpl implements MemberService, UserDetailsService {
 
   @Override
   public void setInjured(long id, boolean injured) throws MemberNotFoundException {
-    var member = memberRepository.findById(id).orElseThrow(() -> new MemberNotFoundException(""));
-    memberRepository.save(
-        MemberEntity.builder()
-            .id(member.getId())
-            .name(member.getName())
-            .alias(member.getAlias())
-            .surname(member.getSurname())
-            .phone(member.getPhone())
-            .role(member.getRole())
-            .nCaptaincies(member.getNCaptaincies())
-            .nonce(member.getNonce())
-            .password(member.getPassword())
-            .injured(injured)
-            .build());
+    if (memberRepository.updateInjured(id, injured) == 0) {
+      throw new MemberNotFoundException("");
+    }
+    ledgerVersion.bump();
   }
 
   @Override
   public void setBlocked(long id, boolean blocked) throws MemberNotFoundException {
-    var member = memberRepository.findById(id).orElseThrow(() -> new MemberNotFoundException(""));
-    memberRepository.save(
-        MemberEntity.builder()
-            .id(member.getId())
-            .name(member.getName())
-            .alias(member.getAlias())
-            .surname(member.getSurname())
-            .phone(member.getPhone())
-            .role(member.getRole())
-            .nCaptaincies(member.getNCaptaincies())
-            .nonce(member.getNonce())
-            .password(member.getPassword())
-            .injured(member.isInjured())
-            .blocked(blocked)
-            .build());
+    if (memberRepository.updateBlocked(id, blocked) == 0) {
+      throw new MemberNotFoundException("");
+    }
+    ledgerVersion.bump();
   }
 
   @Override
@@ -122,6 +106,11 @@ public class MemberServiceImpl implements MemberService, UserDetailsService {
         .toList();
   }
 
+  @Override
+  public List<MemberSearchDto> search(String query, int limit) {
+    return memberSearchIndex.search(query, limit);
+  }
+
   @Override
   public MemberDto update(
       long id, String name, String alias, String surname, String phone, int nCaptaincies, Role role)
@@ -142,6 +131,8 @@ public class MemberServiceImpl implements MemberService, UserDetailsService {
                 .injured(member.isInjured())
                 .blocked(member.isBlocked())
                 .build());
+    memberSearchIndex.put(memberUpdated);
+    ledgerVersion.bump();
     return new MemberDto(
         memberUpdated.getId(),
         name,
@@ -174,6 +165,8 @@ public class MemberServiceImpl implements MemberService, UserDetailsService {
                 .injured(false)
                 .blocked(false)
                 .build());
+    memberSearchIndex.put(member);
+    ledgerVersion.bump();
 
     return new MemberDto(
         member.getId(),
@@ -193,24 +186,9 @@ public class MemberServiceImpl implements MemberService, UserDetailsService {
     if (user.split("\\.").length != 2) {
       throw new MemberNotFoundException(user);
     }
-    var member =
-        memberRepository
-            .findByNameAndSurname(user.split("\\.")[0], user.split("\\.")[1])
-            .orElseThrow(() -> new MemberNotFoundException(""));
-    memberRepository.save(
-        MemberEntity.builder()
-            .id(member.getId())
-            .name(member.getName())
-            .alias(member.getAlias())
-            .surname(member.getSurname())
-            .password(newPassword)
-            .nonce(member.getNonce())
-            .nCaptaincies(member.getNCaptaincies())
-            .role(member.getRole())
-            .phone(member.getPhone())
-            .injured(member.isInjured())
-            .blocked(member.isBlocked())
-            .build());
+    if (memberRepository.updatePassword(user.split("\\.")[0], user.split("\\.")[1], newPassword) == 0) {
+      throw new MemberNotFoundException("");
+    }
   }
 
   @Override
@@ -218,29 +196,18 @@ public class MemberServiceImpl implements MemberService, UserDetailsService {
     if (user.split("\\.").length != 2) {
       throw new MemberNotFoundException(user);
     }
-    var member =
-        memberRepository
-            .findByNameAndSurname(user.split("\\.")[0], user.split("\\.")[1])
-            .orElseThrow(() -> new MemberNotFoundException(""));
-    memberRepository.save(
-        MemberEntity.builder()
-            .id(member.getId())
-            .name(member.getName())
-            .alias(alias)
-            .surname(member.getSurname())
-            .password(member.getPassword())
-            .nonce(member.getNonce())
-            .nCaptaincies(member.getNCaptaincies())
-            .role(member.getRole())
-            .phone(member.getPhone())
-            .injured(member.isInjured())
-            .blocked(member.isBlocked())
-            .build());
+    if (memberRepository.updateAlias(user.split("\\.")[0], user.split("\\.")[1], alias) == 0) {
+      throw new MemberNotFoundException("");
+    }
+    memberSearchIndex.updateAlias(user.split("\\.")[0], user.split("\\.")[1], alias);
+    ledgerVersion.bump();
   }
 
   @Override
   public void delete(long id) {
     memberRepository.deleteById(id);
+    memberSearchIndex.remove(id);
+    ledgerVersion.bump();
   }
 
   @Override
@@ -0,0 +1,29 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Keyset position of a movement listing, sent to clients as an opaque URL-safe token.
+ */
+record MovementCursor(LocalDate createdOn, long id) {
+
+    static String encode(String createdOn, long id) {
+        String cursor = createdOn + "_" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static MovementCursor decode(String cursor) throws InvalidCursorException {
+        try {
+            String[] values = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("_");
+            if (values.length != 2) throw new InvalidCursorException(cursor);
+            return new MovementCursor(LocalDate.parse(values[0]), Long.parseLong(values[1]));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+}
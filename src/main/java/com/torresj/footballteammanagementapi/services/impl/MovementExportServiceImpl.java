@@ -0,0 +1,99 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.enums.DataFormat;
+import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.repositories.TeamMovementRepository;
+import com.torresj.footballteammanagementapi.services.MovementExportService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MovementExportServiceImpl implements MovementExportService {
+
+    private static final String CSV_HEADER = "id,type,memberName,amount,description,createdOn";
+    private static final String TEAM_CSV_HEADER = "id,type,amount,description,createdOn";
+
+    private final MovementRepository movementRepository;
+    private final TeamMovementRepository teamMovementRepository;
+    private final ObjectMapper objectMapper;
+
+    // The streams read rows from an open cursor, so they have to be consumed inside the transaction
+    @Override
+    @Transactional(readOnly = true)
+    public void export(DataFormat format, LocalDate from, LocalDate to, OutputStream output) throws IOException {
+        try (Stream<MovementDto> movements = movementRepository.streamDtos(from, to)) {
+            long rows = write(format, CSV_HEADER, this::toCsv, movements, output);
+            log.debug("[MOVEMENTS EXPORT] {} movements exported as {}", rows, format);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportTeam(DataFormat format, LocalDate from, LocalDate to, OutputStream output) throws IOException {
+        try (Stream<MovementDto> movements = teamMovementRepository.streamDtos(from, to)) {
+            long rows = write(format, TEAM_CSV_HEADER, this::toTeamCsv, movements, output);
+            log.debug("[TEAM MOVEMENTS EXPORT] {} movements exported as {}", rows, format);
+        }
+    }
+
+    private long write(
+            DataFormat format,
+            String csvHeader,
+            Function<MovementDto, String> csvRow,
+            Stream<MovementDto> movements,
+            OutputStream output) throws IOException {
+        var writer = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        if (format == DataFormat.CSV) {
+            writer.write(csvHeader);
+            writer.newLine();
+        }
+
+        long rows = 0;
+        Iterator<MovementDto> iterator = movements.iterator();
+        while (iterator.hasNext()) {
+            var movement = iterator.next();
+            writer.write(format == DataFormat.CSV ? csvRow.apply(movement) : objectMapper.writeValueAsString(movement));
+            writer.newLine();
+            rows++;
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private String toCsv(MovementDto movement) {
+        return movement.id() + ","
+                + movement.type() + ","
+                + escape(movement.memberName()) + ","
+                + movement.amount() + ","
+                + escape(movement.description()) + ","
+                + movement.createdOn();
+    }
+
+    private String toTeamCsv(MovementDto movement) {
+        return movement.id() + ","
+                + movement.type() + ","
+                + movement.amount() + ","
+                + escape(movement.description()) + ","
+                + movement.createdOn();
+    }
+
+    private String escape(String value) {
+        if (value == null) return "";
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0)
+            return value;
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
@@ -1,67 +1,152 @@
 package com.torresj.footballteammanagementapi.services.impl;
 
+import com.torresj.footballteammanagementapi.dtos.AnnualFeeSummaryDto;
+import com.torresj.footballteammanagementapi.dtos.BulkMovementResultDto;
+import com.torresj.footballteammanagementapi.dtos.BulkMovementSummaryDto;
+import com.torresj.footballteammanagementapi.dtos.CreateMovementDto;
+import com.torresj.footballteammanagementapi.dtos.MemberStatementDto;
 import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.MovementSliceDto;
 import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
+import com.torresj.footballteammanagementapi.entities.MemberEntity;
 import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.enums.BulkItemStatus;
 import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.exceptions.MovementNotFoundException;
 import com.torresj.footballteammanagementapi.repositories.MemberRepository;
+import com.torresj.footballteammanagementapi.repositories.MovementCriteria;
 import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.search.MovementSearchIndex;
 import com.torresj.footballteammanagementapi.services.MovementService;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
 
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class MovementServiceImpl implements MovementService {
 
+    private static final int MAX_SLICE_SIZE = 200;
+    private static final double ANNUAL_FEE = -70;
+
     private final MovementRepository movementRepository;
     private final MemberRepository memberRepository;
+    private final MovementSearchIndex movementSearchIndex;
+    private final TreasuryService treasuryService;
 
     @Value("${admin.user}")
     private final String adminUser;
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     @Override
-    public Page<MovementDto> get(Long memberId, String filter, int nElements, int nPage) {
-        var pageRequest = PageRequest.of(nPage, nElements, Sort.by(Sort.Direction.DESC, "createdOn"));
-        Page<MovementEntity> pageEntity;
-        if (memberId == null && filter == null) {
-            pageEntity = movementRepository.findAll(pageRequest);
-        } else if (memberId != null && filter == null) {
-            pageEntity = movementRepository.findByMemberId(memberId, pageRequest);
-        } else if (memberId == null) {
-            pageEntity = movementRepository.findByDescriptionContainingIgnoreCase(filter, pageRequest);
-        } else {
-            pageEntity = movementRepository
-                    .findByMemberIdAndDescriptionContainingIgnoreCase(memberId, filter, pageRequest);
+    public Page<MovementDto> get(
+            Long memberId, String filter, MovementType type, LocalDate from, LocalDate to, int nElements, int nPage) {
+        var criteria = new MovementCriteria(type, from, to);
+        if (filter == null || movementSearchIndex.isBlank(filter)) {
+            return movementRepository.findDtos(memberId, criteria, PageRequest.of(nPage, nElements));
         }
 
-        return pageEntity.map(this::entityToDto);
+        // Filtered pages are ordered by relevance, the index applies the criteria too,
+        // so only the ids of the requested page reach the database
+        var pageRequest = PageRequest.of(nPage, nElements);
+        var ids = movementSearchIndex.searchMovements(filter, memberId, criteria);
+        int first = (int) Math.min(pageRequest.getOffset(), ids.size());
+        var pageIds = ids.subList(first, Math.min(first + nElements, ids.size()));
+        if (pageIds.isEmpty()) return new PageImpl<>(List.of(), pageRequest, ids.size());
+
+        Map<Long, MovementDto> movements = movementRepository.findDtosByIds(pageIds).stream()
+                .collect(Collectors.toMap(MovementDto::id, Function.identity()));
+        var content = pageIds.stream().map(movements::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(content, pageRequest, ids.size());
+    }
+
+    @Override
+    public MovementSliceDto getAfter(
+            Long memberId, String filter, MovementType type, LocalDate from, LocalDate to, String after, int limit)
+            throws InvalidCursorException {
+        int size = Math.min(Math.max(limit, 1), MAX_SLICE_SIZE);
+        MovementCursor cursor = after == null ? null : MovementCursor.decode(after);
+        var criteria = new MovementCriteria(type, from, to);
+        LocalDate afterCreatedOn = cursor == null ? null : cursor.createdOn();
+        Long afterId = cursor == null ? null : cursor.id();
+
+        // One extra row tells if there is a next slice without running a count query
+        List<MovementDto> movements;
+        if (filter == null || movementSearchIndex.isBlank(filter)) {
+            movements = movementRepository.findDtosAfter(memberId, criteria, afterCreatedOn, afterId, size + 1);
+        } else {
+            // Matched by the search index like filtered pages, only the ids of the slice are loaded
+            var ids = movementSearchIndex.searchMovementsAfter(
+                    filter, memberId, criteria, afterCreatedOn, afterId, size + 1);
+            Map<Long, MovementDto> found = ids.isEmpty()
+                    ? Map.of()
+                    : movementRepository.findDtosByIds(ids).stream()
+                            .collect(Collectors.toMap(MovementDto::id, Function.identity()));
+            movements = ids.stream().map(found::get).filter(Objects::nonNull).toList();
+        }
+        boolean hasNext = movements.size() > size;
+        var content = hasNext ? movements.subList(0, size) : movements;
+        String next = null;
+        if (hasNext) {
+            var last = content.get(content.size() - 1);
+            next = MovementCursor.encode(last.createdOn(), last.id());
+        }
+        return new MovementSliceDto(content, hasNext, next);
     }
 
     @Override
     public MovementDto get(long id) throws MovementNotFoundException {
-        var movement =
-                movementRepository.findById(id).orElseThrow(() -> new MovementNotFoundException(id));
-        return entityToDto(movement);
+        return movementRepository.findDtoById(id).orElseThrow(() -> new MovementNotFoundException(id));
     }
 
     @Override
     public List<MovementDto> getByMember(long memberId) throws MemberNotFoundException {
-        memberRepository.findById(memberId).orElseThrow(() -> new MemberNotFoundException(""));
-        return movementRepository.findByMemberId(memberId, Sort.by(Sort.Direction.DESC, "createdOn")).stream()
-                .map(this::entityToDto)
-                .toList();
+        if (!memberRepository.existsById(memberId)) throw new MemberNotFoundException("");
+        return movementRepository.findDtosByMemberId(memberId);
+    }
+
+    @Override
+    public MemberStatementDto getStatement(long memberId, String after, int limit)
+            throws MemberNotFoundException, InvalidCursorException {
+        int size = Math.min(Math.max(limit, 1), MAX_SLICE_SIZE);
+        MovementCursor cursor = after == null ? null : MovementCursor.decode(after);
+
+        var entries = movementRepository.findStatement(
+                memberId,
+                cursor == null ? null : cursor.createdOn(),
+                cursor == null ? null : cursor.id(),
+                size + 1);
+        // Only an empty statement needs to tell a member without movements from a missing one
+        if (entries.isEmpty() && !memberRepository.existsById(memberId)) throw new MemberNotFoundException("");
+
+        boolean hasNext = entries.size() > size;
+        var content = hasNext ? entries.subList(0, size) : entries;
+        String next = null;
+        if (hasNext) {
+            var last = content.get(content.size() - 1);
+            next = MovementCursor.encode(last.createdOn(), last.id());
+        }
+        return new MemberStatementDto(content, hasNext, next);
     }
 
     @Override
@@ -72,6 +157,7 @@ public class MovementServiceImpl implements MovementService {
     }
 
     @Override
+    @Transactional
     public MovementDto create(long memberId, MovementType type, double amount, String description)
             throws MemberNotFoundException {
         var member =
@@ -85,6 +171,7 @@ public class MovementServiceImpl implements MovementService {
                                 .memberId(memberId)
                                 .description(description)
                                 .build());
+        treasuryService.addMemberMovement(movementEntity.getType(), movementEntity.getAmount());
 
         return new MovementDto(
                 movementEntity.getId(),
@@ -96,6 +183,63 @@ public class MovementServiceImpl implements MovementService {
     }
 
     @Override
+    @Transactional
+    public BulkMovementSummaryDto createAll(List<CreateMovementDto> movements) {
+        var memberIds = movements.stream()
+                .filter(Objects::nonNull)
+                .map(CreateMovementDto::memberId)
+                .collect(Collectors.toSet());
+        Set<Long> existingIds = memberRepository.findAllById(memberIds).stream()
+                .map(MemberEntity::getId)
+                .collect(Collectors.toSet());
+
+        BulkMovementResultDto[] results = new BulkMovementResultDto[movements.size()];
+        List<Integer> indexes = new ArrayList<>();
+        List<MovementEntity> entities = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < movements.size(); i++) {
+            var movement = movements.get(i);
+            if (movement == null) {
+                results[i] = new BulkMovementResultDto(i, null, BulkItemStatus.INVALID, null, "Movement is required");
+            } else if (movement.type() == null) {
+                results[i] = new BulkMovementResultDto(
+                        i, movement.memberId(), BulkItemStatus.INVALID, null, "Type is required");
+            } else if (!existingIds.contains(movement.memberId())) {
+                results[i] = new BulkMovementResultDto(
+                        i, movement.memberId(), BulkItemStatus.MEMBER_NOT_FOUND, null, "Member not found");
+            } else {
+                indexes.add(i);
+                entities.add(MovementEntity.builder()
+                        .type(movement.type())
+                        .amount(checkAndReturnAmount(movement.type(), movement.amount()))
+                        .memberId(movement.memberId())
+                        .description(movement.description())
+                        .createdOn(today)
+                        .build());
+            }
+        }
+
+        var ids = movementRepository.insertAll(entities);
+        entities.stream()
+                .collect(Collectors.groupingBy(
+                        MovementEntity::getType, Collectors.summingDouble(MovementEntity::getAmount)))
+                .forEach(treasuryService::addMemberMovement);
+        List<MovementEntity> inserted = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i++) {
+            var entity = entities.get(i).toBuilder().id(ids.get(i)).build();
+            inserted.add(entity);
+            results[indexes.get(i)] = new BulkMovementResultDto(
+                    indexes.get(i), entity.getMemberId(), BulkItemStatus.CREATED, entity.getId(), null);
+        }
+        // The batch skips the entity listener, the index only learns about the rows once they are committed
+        movementSearchIndex.putAfterCommit(inserted);
+
+        return new BulkMovementSummaryDto(
+                movements.size(), ids.size(), movements.size() - ids.size(), Arrays.asList(results));
+    }
+
+    @Override
+    @Transactional
     public MovementDto update(long id, double amount, String description)
             throws MovementNotFoundException, MemberNotFoundException {
         var movement =
@@ -106,6 +250,8 @@ public class MovementServiceImpl implements MovementService {
                         .findById(movement.getMemberId())
                         .orElseThrow(() -> new MemberNotFoundException(""));
 
+        // save merges into the managed movement, so the previous amount is read before
+        double previousAmount = movement.getAmount();
         var movementUpdated =
                 movementRepository.save(
                         MovementEntity.builder()
@@ -116,6 +262,7 @@ public class MovementServiceImpl implements MovementService {
                                 .description(description)
                                 .createdOn(movement.getCreatedOn())
                                 .build());
+        treasuryService.addMemberMovement(movement.getType(), movementUpdated.getAmount() - previousAmount);
 
         return new MovementDto(
                 movementUpdated.getId(),
@@ -127,52 +274,28 @@ public class MovementServiceImpl implements MovementService {
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
-        movementRepository.deleteById(id);
+        movementRepository.findById(id).ifPresent(movement -> {
+            movementRepository.delete(movement);
+            treasuryService.addMemberMovement(movement.getType(), -movement.getAmount());
+        });
     }
 
     @Override
-    public void addAnnualTeamPay() {
-        memberRepository.findAll().stream()
-                .filter(member -> !adminUser.equals(member.getName()))
-                .forEach(member -> movementRepository.save(
-                                MovementEntity.builder()
-                                        .type(MovementType.EXPENSE)
-                                        .amount(-70)
-                                        .memberId(member.getId())
-                                        .description("Cuota anual de la peña")
-                                        .build()
-                        )
-                );
+    @Transactional
+    public AnnualFeeSummaryDto addAnnualTeamPay(int season) {
+        // One insert ... select for every member, members already charged this season are skipped
+        int charged = movementRepository.insertAnnualFee(
+                MovementType.EXPENSE, ANNUAL_FEE, ANNUAL_FEE_DESCRIPTION, season, LocalDate.now(), adminUser);
+        treasuryService.addMemberMovement(MovementType.EXPENSE, charged * ANNUAL_FEE);
+        if (charged > 0) movementSearchIndex.rebuildMovements();
+        return new AnnualFeeSummaryDto(season, charged, ANNUAL_FEE);
     }
 
     @Override
     public TotalBalanceDto getTotalBalance() {
-        List<MovementEntity> movements = movementRepository.findAll();
-        double totalExpenses = movements.stream()
-                .filter(movement -> movement.getType() == MovementType.EXPENSE)
-                .mapToDouble(MovementEntity::getAmount)
-                .sum();
-        double totalIncomes = movements.stream()
-                .filter(movement -> movement.getType() == MovementType.INCOME)
-                .mapToDouble(MovementEntity::getAmount)
-                .sum();
-        return new TotalBalanceDto(totalExpenses, totalIncomes);
-    }
-
-    private MovementDto entityToDto(MovementEntity entity) {
-        var member = memberRepository.findById(entity.getMemberId());
-        String memberName =
-                member
-                        .map(memberEntity -> memberEntity.getName() + " " + memberEntity.getSurname())
-                        .orElse("Not found");
-        return new MovementDto(
-                entity.getId(),
-                entity.getType(),
-                memberName,
-                entity.getAmount(),
-                entity.getDescription(),
-                formatter.format(entity.getCreatedOn()));
+        return treasuryService.getMembersBalance();
     }
 
     private double checkAndReturnAmount(MovementType type, double amount){
@@ -0,0 +1,81 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
+import com.torresj.footballteammanagementapi.services.PasswordService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PasswordServiceImpl implements PasswordService {
+
+    private final PasswordEncoder encoder;
+
+    @Qualifier("passwordHashingExecutor")
+    private final ThreadPoolTaskExecutor passwordHashingExecutor;
+
+    @Value("${password.bcrypt.strength:10}")
+    private final int strength;
+
+    @Override
+    public String encode(String rawPassword) throws ServerBusyException {
+        return runOnPool(() -> encoder.encode(rawPassword));
+    }
+
+    @Override
+    public List<String> encodeAll(List<String> rawPasswords) {
+        // Bulk work is not rejected when the pool is full, the overflow is hashed on the caller thread
+        List<CompletableFuture<String>> hashes = rawPasswords.stream()
+                .map(rawPassword -> {
+                    try {
+                        return CompletableFuture.supplyAsync(() -> encoder.encode(rawPassword), passwordHashingExecutor);
+                    } catch (RejectedExecutionException e) {
+                        return CompletableFuture.completedFuture(encoder.encode(rawPassword));
+                    }
+                })
+                .toList();
+        return hashes.stream().map(CompletableFuture::join).toList();
+    }
+
+    @Override
+    public boolean matches(String rawPassword, String encodedPassword) throws ServerBusyException {
+        return runOnPool(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean needsRehash(String encodedPassword) {
+        // BCrypt hashes look like $2a$10$..., where 10 is the cost they were generated with
+        if (encodedPassword == null || encodedPassword.length() < 7 || encodedPassword.charAt(3) != '$') {
+            return false;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6)) != strength;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private <T> T runOnPool(Supplier<T> task) throws ServerBusyException {
+        try {
+            return CompletableFuture.supplyAsync(task, passwordHashingExecutor).join();
+        } catch (RejectedExecutionException e) {
+            log.warn("[PASSWORD] Hashing pool is full, rejecting request");
+            throw new ServerBusyException();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            throw e;
+        }
+    }
+}
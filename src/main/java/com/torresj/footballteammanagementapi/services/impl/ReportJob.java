@@ -0,0 +1,103 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.torresj.footballteammanagementapi.dtos.ReportJobDto;
+import com.torresj.footballteammanagementapi.enums.ReportJobStatus;
+import com.torresj.footballteammanagementapi.enums.ReportType;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * State of one report job. It is written by the report thread and read by request threads, so every
+ * mutable field is volatile and the file is published before the status that makes it readable.
+ */
+class ReportJob {
+
+    /**
+     * Jobs with the same key render the same content, so they are run only once. Reports print the
+     * day they were generated, so the date is part of the key.
+     */
+    record Key(ReportType type, Map<String, String> parameters, long ledgerVersion, LocalDate date) {}
+
+    private final String id;
+    private final Key key;
+    private volatile ReportJobStatus status = ReportJobStatus.QUEUED;
+    private volatile int progress;
+    private volatile String error;
+    private volatile Path file;
+    private volatile Instant finishedOn;
+    // Guarded by this, the file is deleted once the job expired and the last read finished
+    private int readers;
+    private boolean expired;
+
+    ReportJob(String id, Key key) {
+        this.id = id;
+        this.key = key;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    Key getKey() {
+        return key;
+    }
+
+    ReportJobStatus getStatus() {
+        return status;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    Instant getFinishedOn() {
+        return finishedOn;
+    }
+
+    void start() {
+        status = ReportJobStatus.RUNNING;
+    }
+
+    void setProgress(int progress) {
+        this.progress = progress;
+    }
+
+    void finish(Path file) {
+        this.file = file;
+        this.progress = 100;
+        this.finishedOn = Instant.now();
+        this.status = ReportJobStatus.DONE;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        this.finishedOn = Instant.now();
+        this.status = ReportJobStatus.FAILED;
+    }
+
+    /** Registers a read of the file, false once the job expired. */
+    synchronized boolean startRead() {
+        if (expired) return false;
+        readers++;
+        return true;
+    }
+
+    /** Ends a read, true when the job expired meanwhile and the file can be deleted now. */
+    synchronized boolean endRead() {
+        readers--;
+        return expired && readers == 0;
+    }
+
+    /** Marks the job expired, true when no read is running and the file can be deleted now. */
+    synchronized boolean expire() {
+        expired = true;
+        return readers == 0;
+    }
+
+    ReportJobDto toDto() {
+        return new ReportJobDto(id, key.type(), key.parameters(), status, progress, error);
+    }
+}
@@ -0,0 +1,175 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.torresj.footballteammanagementapi.dtos.ReportJobDto;
+import com.torresj.footballteammanagementapi.enums.ReportJobStatus;
+import com.torresj.footballteammanagementapi.enums.ReportType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidReportParametersException;
+import com.torresj.footballteammanagementapi.exceptions.ReportJobNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ReportJobNotReadyException;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
+import com.torresj.footballteammanagementapi.reports.LedgerVersion;
+import com.torresj.footballteammanagementapi.reports.ReportProgress;
+import com.torresj.footballteammanagementapi.services.ReportJobService;
+import com.torresj.footballteammanagementapi.services.ReportService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReportJobServiceImpl implements ReportJobService {
+
+    private final ReportService reportService;
+    private final LedgerVersion ledgerVersion;
+
+    @Qualifier("reportExecutor")
+    private final ThreadPoolTaskExecutor reportExecutor;
+
+    @Value("${reports.jobs.ttl-minutes:60}")
+    private final long ttlMinutes;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    private final Map<ReportJob.Key, ReportJob> jobsByKey = new ConcurrentHashMap<>();
+
+    @Override
+    public ReportJobDto submit(ReportType type, Map<String, String> parameters)
+            throws InvalidReportParametersException, ServerBusyException {
+        var key = new ReportJob.Key(type, parameters(type, parameters), ledgerVersion.current(), LocalDate.now());
+        var created = new ReportJob(UUID.randomUUID().toString(), key);
+        // Registered by id before it can be joined by key, so a joining request never gets an unknown id
+        jobs.put(created.getId(), created);
+        // Identical requests against the same ledger share one job, failed jobs can be retried
+        var job = jobsByKey.compute(
+                key, (k, existing) -> existing == null || existing.getStatus() == ReportJobStatus.FAILED ? created : existing);
+        if (job != created) {
+            jobs.remove(created.getId());
+            log.debug("[REPORT JOBS] Request joined job {}", job.getId());
+            return job.toDto();
+        }
+
+        try {
+            reportExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.getId());
+            jobsByKey.remove(key, job);
+            log.warn("[REPORT JOBS] Report queue is full, rejecting job");
+            throw new ServerBusyException();
+        }
+        return job.toDto();
+    }
+
+    @Override
+    public ReportJobDto get(String id) throws ReportJobNotFoundException {
+        return find(id).toDto();
+    }
+
+    @Override
+    public ReportJobDto getFinished(String id) throws ReportJobNotFoundException, ReportJobNotReadyException {
+        var job = find(id);
+        if (job.getStatus() != ReportJobStatus.DONE) throw new ReportJobNotReadyException(id, job.getStatus());
+        return job.toDto();
+    }
+
+    @Override
+    public void writeContent(String id, OutputStream output) throws IOException {
+        var job = jobs.get(id);
+        if (job == null || job.getFile() == null || !job.startRead())
+            throw new FileNotFoundException("Report job " + id + " has no content");
+        try {
+            Files.copy(job.getFile(), output);
+        } finally {
+            if (job.endRead()) deleteFile(job.getFile());
+        }
+    }
+
+    @Override
+    public void deleteExpired() {
+        Instant limit = Instant.now().minus(Duration.ofMinutes(ttlMinutes));
+        jobs.values().stream()
+                .filter(job -> job.getFinishedOn() != null && job.getFinishedOn().isBefore(limit))
+                .toList()
+                .forEach(this::delete);
+    }
+
+    @PreDestroy
+    public void deleteAll() {
+        jobs.values().stream().toList().forEach(this::delete);
+    }
+
+    private void run(ReportJob job) {
+        job.start();
+        var type = job.getKey().type();
+        Path file = null;
+        try {
+            file = Files.createTempFile("report-" + job.getId(), "." + type.getExtension());
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(file))) {
+                render(job.getKey(), output, job::setProgress);
+            }
+            job.finish(file);
+            log.info("[REPORT JOBS] Job {} finished", job.getId());
+        } catch (IOException | RuntimeException e) {
+            deleteFile(file);
+            job.fail(e.getMessage());
+            log.error("[REPORT JOBS] Job " + job.getId() + " failed", e);
+        }
+    }
+
+    private void render(ReportJob.Key key, OutputStream output, ReportProgress progress) throws IOException {
+        switch (key.type()) {
+            case BALANCE_PDF, BALANCE_CSV, BALANCE_XLSX -> reportService.writeBalance(key.type().getFormat(), output, progress);
+        }
+    }
+
+    // Parameters a report doesn't use are rejected, they would only split identical jobs
+    private Map<String, String> parameters(ReportType type, Map<String, String> parameters)
+            throws InvalidReportParametersException {
+        Set<String> accepted = switch (type) {
+            case BALANCE_PDF, BALANCE_CSV, BALANCE_XLSX -> Set.of();
+        };
+        var unknown = parameters.keySet().stream().filter(name -> !accepted.contains(name)).sorted().toList();
+        if (!unknown.isEmpty()) throw new InvalidReportParametersException(type, unknown);
+        return Map.copyOf(parameters);
+    }
+
+    private ReportJob find(String id) throws ReportJobNotFoundException {
+        var job = jobs.get(id);
+        if (job == null) throw new ReportJobNotFoundException(id);
+        return job;
+    }
+
+    private void delete(ReportJob job) {
+        jobs.remove(job.getId());
+        jobsByKey.remove(job.getKey(), job);
+        // A download still copying the file deletes it when it ends
+        if (job.expire()) deleteFile(job.getFile());
+    }
+
+    private void deleteFile(Path file) {
+        if (file == null) return;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("[REPORT JOBS] Report file " + file + " couldn't be deleted", e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.SeasonDto;
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.entities.SeasonEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidSeasonStartException;
+import com.torresj.footballteammanagementapi.exceptions.SeasonAlreadyClosedException;
+import com.torresj.footballteammanagementapi.exceptions.SeasonNotFoundException;
+import com.torresj.footballteammanagementapi.repositories.*;
+import com.torresj.footballteammanagementapi.search.MovementSearchIndex;
+import com.torresj.footballteammanagementapi.services.SeasonService;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeasonServiceImpl implements SeasonService {
+
+    private final SeasonRepository seasonRepository;
+    private final MovementRepository movementRepository;
+    private final TeamMovementRepository teamMovementRepository;
+    private final MovementArchiveRepository movementArchiveRepository;
+    private final TeamMovementArchiveRepository teamMovementArchiveRepository;
+    private final MovementSearchIndex movementSearchIndex;
+    private final TreasuryService treasuryService;
+
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    @Override
+    @Transactional
+    public SeasonDto close(int season, LocalDate nextSeasonStart)
+            throws SeasonAlreadyClosedException, InvalidSeasonStartException {
+        if (seasonRepository.existsById(season)) throw new SeasonAlreadyClosedException(season);
+        // Movements after today could still be created in the season being closed
+        if (nextSeasonStart.isAfter(LocalDate.now()))
+            throw new InvalidSeasonStartException(nextSeasonStart, "it is in the future");
+        // Earlier movements were archived with the last closed season
+        var lastClosed = seasonRepository.findFirstByOrderByNextSeasonStartDesc();
+        if (lastClosed.isPresent() && !nextSeasonStart.isAfter(lastClosed.get().getNextSeasonStart()))
+            throw new InvalidSeasonStartException(
+                    nextSeasonStart, "season " + lastClosed.get().getSeason() + " was closed up to "
+                            + formatter.format(lastClosed.get().getNextSeasonStart()));
+
+        // Totals are read before archiving, the opening movements keep every balance unchanged
+        var memberTotals = movementRepository.sumAmountByMemberBefore(nextSeasonStart);
+        double memberIncomes = movementRepository.sumAmountByTypeBefore(MovementType.INCOME, nextSeasonStart);
+        double teamTotal = teamMovementRepository.sumAmountBefore(nextSeasonStart);
+
+        int archivedMovements = movementArchiveRepository.archiveCreatedBefore(season, nextSeasonStart);
+        int archivedTeamMovements = teamMovementArchiveRepository.archiveCreatedBefore(season, nextSeasonStart);
+        movementRepository.deleteCreatedBefore(nextSeasonStart);
+        teamMovementRepository.deleteCreatedBefore(nextSeasonStart);
+
+        String description = OPENING_BALANCE_DESCRIPTION + season;
+        var openings = memberTotals.stream()
+                .filter(total -> total.getTotal() != 0)
+                .map(total -> MovementEntity.builder()
+                        .type(total.getTotal() < 0 ? MovementType.EXPENSE : MovementType.INCOME)
+                        .amount(total.getTotal())
+                        .memberId(total.getMemberId())
+                        .description(description)
+                        .createdOn(nextSeasonStart)
+                        .build())
+                .toList();
+        movementRepository.insertAll(openings);
+
+        // Member incomes count as team incomes, so positive member openings are left out of the team one
+        double positiveOpenings = openings.stream()
+                .filter(movement -> movement.getType() == MovementType.INCOME)
+                .mapToDouble(MovementEntity::getAmount)
+                .sum();
+        double teamOpening = teamTotal + memberIncomes - positiveOpenings;
+        if (teamOpening != 0) {
+            teamMovementRepository.insert(
+                    teamOpening < 0 ? MovementType.EXPENSE : MovementType.INCOME,
+                    teamOpening,
+                    description,
+                    nextSeasonStart);
+        }
+
+        var entity = seasonRepository.save(
+                SeasonEntity.builder()
+                        .season(season)
+                        .nextSeasonStart(nextSeasonStart)
+                        .closedOn(LocalDate.now())
+                        .archivedMovements(archivedMovements)
+                        .archivedTeamMovements(archivedTeamMovements)
+                        .build());
+        // Archived and opening rows skipped the persistence context and the treasury deltas
+        movementSearchIndex.rebuild();
+        treasuryService.recompute();
+
+        log.debug("[SEASONS] Season {} closed, {} movements and {} team movements archived",
+                season, archivedMovements, archivedTeamMovements);
+        return entityToDto(entity);
+    }
+
+    @Override
+    public List<SeasonDto> get() {
+        return seasonRepository.findByOrderBySeasonDesc().stream().map(this::entityToDto).toList();
+    }
+
+    @Override
+    public Page<MovementDto> getMovements(int season, Long memberId, int nElements, int nPage)
+            throws SeasonNotFoundException {
+        if (!seasonRepository.existsById(season)) throw new SeasonNotFoundException(season);
+        return movementArchiveRepository.findDtos(season, memberId, PageRequest.of(nPage, nElements));
+    }
+
+    @Override
+    public List<MovementDto> getTeamMovements(int season) throws SeasonNotFoundException {
+        if (!seasonRepository.existsById(season)) throw new SeasonNotFoundException(season);
+        return teamMovementArchiveRepository.findBySeasonOrderByCreatedOnAscIdAsc(season).stream()
+                .map(movement -> new MovementDto(
+                        movement.getId(),
+                        movement.getType(),
+                        "",
+                        movement.getAmount(),
+                        movement.getDescription(),
+                        formatter.format(movement.getCreatedOn())))
+                .toList();
+    }
+
+    private SeasonDto entityToDto(SeasonEntity entity) {
+        return new SeasonDto(
+                entity.getSeason(),
+                formatter.format(entity.getNextSeasonStart()),
+                formatter.format(entity.getClosedOn()),
+                entity.getArchivedMovements(),
+                entity.getArchivedTeamMovements());
+    }
+}
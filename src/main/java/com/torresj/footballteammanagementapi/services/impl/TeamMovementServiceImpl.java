@@ -1,34 +1,104 @@
 package com.torresj.footballteammanagementapi.services.impl;
 
 import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.MovementSliceDto;
 import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
-import com.torresj.footballteammanagementapi.entities.MovementEntity;
 import com.torresj.footballteammanagementapi.entities.TeamMovementEntity;
 import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.exceptions.InvalidCursorException;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.exceptions.MovementNotFoundException;
-import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.repositories.MovementCriteria;
 import com.torresj.footballteammanagementapi.repositories.TeamMovementRepository;
+import com.torresj.footballteammanagementapi.repositories.specifications.TeamMovementSpecifications;
+import com.torresj.footballteammanagementapi.search.MovementSearchIndex;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import com.torresj.footballteammanagementapi.services.TeamMovementService;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
 public class TeamMovementServiceImpl implements TeamMovementService {
 
+    private static final int MAX_SLICE_SIZE = 200;
+
     private final TeamMovementRepository teamMovementRepository;
-    private final MovementRepository movementRepository;
+    private final MovementSearchIndex movementSearchIndex;
+    private final TreasuryService treasuryService;
 
     private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
 
     @Override
-    public List<MovementDto> get() {
-        return teamMovementRepository.findByOrderByCreatedOnAsc().stream().map(this::entityToDto).toList();
+    public Page<MovementDto> get(
+            String filter, MovementType type, LocalDate from, LocalDate to, int nElements, int nPage) {
+        var criteria = new MovementCriteria(type, from, to);
+        var pageRequest = PageRequest.of(nPage, nElements);
+        if (filter == null || movementSearchIndex.isBlank(filter)) {
+            return teamMovementRepository
+                    .findAll(
+                            TeamMovementSpecifications.matching(criteria),
+                            pageRequest.withSort(Sort.by("createdOn", "id")))
+                    .map(this::entityToDto);
+        }
+
+        // Filtered pages are ordered by relevance, only the ids of the requested page reach the database
+        var ids = movementSearchIndex.searchTeamMovements(filter, criteria);
+        int first = (int) Math.min(pageRequest.getOffset(), ids.size());
+        var pageIds = ids.subList(first, Math.min(first + nElements, ids.size()));
+        if (pageIds.isEmpty()) return new PageImpl<>(List.of(), pageRequest, ids.size());
+
+        Map<Long, TeamMovementEntity> movements = teamMovementRepository.findAllById(pageIds).stream()
+                .collect(Collectors.toMap(TeamMovementEntity::getId, Function.identity()));
+        var content = pageIds.stream().map(movements::get).filter(Objects::nonNull).map(this::entityToDto).toList();
+        return new PageImpl<>(content, pageRequest, ids.size());
+    }
+
+    @Override
+    public MovementSliceDto getAfter(
+            String filter, MovementType type, LocalDate from, LocalDate to, String after, int limit)
+            throws InvalidCursorException {
+        int size = Math.min(Math.max(limit, 1), MAX_SLICE_SIZE);
+        MovementCursor cursor = after == null ? null : MovementCursor.decode(after);
+        var criteria = new MovementCriteria(type, from, to);
+        LocalDate afterCreatedOn = cursor == null ? null : cursor.createdOn();
+        Long afterId = cursor == null ? null : cursor.id();
+
+        // One extra row tells if there is a next slice without running a count query
+        List<TeamMovementEntity> movements;
+        if (filter == null || movementSearchIndex.isBlank(filter)) {
+            movements = teamMovementRepository.findAfter(criteria, afterCreatedOn, afterId, size + 1);
+        } else {
+            // Matched by the search index in the same order, only the ids of the slice are loaded
+            var ids = movementSearchIndex.searchTeamMovementsAfter(filter, criteria, afterCreatedOn, afterId, size + 1);
+            Map<Long, TeamMovementEntity> found = ids.isEmpty()
+                    ? Map.of()
+                    : teamMovementRepository.findAllById(ids).stream()
+                            .collect(Collectors.toMap(TeamMovementEntity::getId, Function.identity()));
+            movements = ids.stream().map(found::get).filter(Objects::nonNull).toList();
+        }
+        boolean hasNext = movements.size() > size;
+        var content = (hasNext ? movements.subList(0, size) : movements).stream().map(this::entityToDto).toList();
+        String next = null;
+        if (hasNext) {
+            var last = content.get(content.size() - 1);
+            next = MovementCursor.encode(last.createdOn(), last.id());
+        }
+        return new MovementSliceDto(content, hasNext, next);
     }
 
     @Override
@@ -39,6 +109,7 @@ public class TeamMovementServiceImpl implements TeamMovementService {
     }
 
     @Override
+    @Transactional
     public MovementDto create(MovementType type, double amount, String description) throws MemberNotFoundException {
         var movementEntity =
                 teamMovementRepository.save(
@@ -47,6 +118,7 @@ public class TeamMovementServiceImpl implements TeamMovementService {
                                 .amount(amount)
                                 .description(description)
                                 .build());
+        treasuryService.addTeamMovement(movementEntity.getType(), movementEntity.getAmount());
 
         return new MovementDto(
                 movementEntity.getId(),
@@ -58,10 +130,13 @@ public class TeamMovementServiceImpl implements TeamMovementService {
     }
 
     @Override
+    @Transactional
     public MovementDto update(long id, double amount, String description) throws MovementNotFoundException, MemberNotFoundException {
         var movement =
                 teamMovementRepository.findById(id).orElseThrow(() -> new MovementNotFoundException(id));
 
+        // save merges into the managed movement, so the previous amount is read before
+        double previousAmount = movement.getAmount();
         var movementUpdated =
                 teamMovementRepository.save(
                         TeamMovementEntity.builder()
@@ -71,6 +146,7 @@ public class TeamMovementServiceImpl implements TeamMovementService {
                                 .description(description)
                                 .createdOn(movement.getCreatedOn())
                                 .build());
+        treasuryService.addTeamMovement(movement.getType(), movementUpdated.getAmount() - previousAmount);
 
         return new MovementDto(
                 movementUpdated.getId(),
@@ -82,35 +158,18 @@ public class TeamMovementServiceImpl implements TeamMovementService {
     }
 
     @Override
+    @Transactional
     public void delete(long id) {
-        teamMovementRepository.deleteById(id);
+        teamMovementRepository.findById(id).ifPresent(movement -> {
+            teamMovementRepository.delete(movement);
+            treasuryService.addTeamMovement(movement.getType(), -movement.getAmount());
+        });
     }
 
     @Override
     public TotalBalanceDto getTotalBalance() {
-        List<MovementEntity> membersMovements = movementRepository.findAll();
-
-        double membersTotalIncomes = membersMovements.stream()
-                .filter(movement -> movement.getType() == MovementType.INCOME)
-                .mapToDouble(MovementEntity::getAmount)
-                .sum();
-
-        List<TeamMovementEntity> teamMovements = teamMovementRepository.findAll();
-
-        double teamTotalExpenses = teamMovements.stream()
-                .filter(movement -> movement.getType() == MovementType.EXPENSE)
-                .mapToDouble(TeamMovementEntity::getAmount)
-                .sum();
-        double teamTotalIncomes = teamMovements.stream()
-                .filter(movement -> movement.getType() == MovementType.INCOME)
-                .mapToDouble(TeamMovementEntity::getAmount)
-                .sum();
-
-    return new TotalBalanceDto(
-            teamTotalExpenses,
-            membersTotalIncomes + teamTotalIncomes
-    );
-  }
+        return treasuryService.getTeamBalance();
+    }
 
     private MovementDto entityToDto(TeamMovementEntity entity) {
         return new MovementDto(
@@ -0,0 +1,91 @@
+package com.torresj.footballteammanagementapi.services.impl;
+
+import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryTotalsDto;
+import com.torresj.footballteammanagementapi.entities.TreasuryTotalsEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.reports.LedgerVersion;
+import com.torresj.footballteammanagementapi.repositories.TreasuryTotalsRepository;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TreasuryServiceImpl implements TreasuryService {
+
+    private final TreasuryTotalsRepository treasuryTotalsRepository;
+    private final LedgerVersion ledgerVersion;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void init() {
+        if (!treasuryTotalsRepository.existsById(TreasuryTotalsEntity.ID)) recompute();
+    }
+
+    // Deltas must commit or roll back with the movement that caused them
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addMemberMovement(MovementType type, double amount) {
+        // Every movement write goes through the totals, so the ledger version is bumped here
+        ledgerVersion.bump();
+        if (amount == 0) return;
+        treasuryTotalsRepository.add(
+                TreasuryTotalsEntity.ID,
+                0,
+                0,
+                type == MovementType.INCOME ? amount : 0,
+                type == MovementType.EXPENSE ? amount : 0);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void addTeamMovement(MovementType type, double amount) {
+        ledgerVersion.bump();
+        if (amount == 0) return;
+        treasuryTotalsRepository.add(
+                TreasuryTotalsEntity.ID,
+                type == MovementType.INCOME ? amount : 0,
+                type == MovementType.EXPENSE ? amount : 0,
+                0,
+                0);
+    }
+
+    @Override
+    public TotalBalanceDto getMembersBalance() {
+        var totals = get();
+        return new TotalBalanceDto(totals.getMemberExpenses(), totals.getMemberIncomes());
+    }
+
+    @Override
+    public TotalBalanceDto getTeamBalance() {
+        // Member incomes are paid to the team
+        var totals = get();
+        return new TotalBalanceDto(totals.getTeamExpenses(), totals.getMemberIncomes() + totals.getTeamIncomes());
+    }
+
+    @Override
+    @Transactional
+    public TreasuryTotalsDto recompute() {
+        if (!treasuryTotalsRepository.existsById(TreasuryTotalsEntity.ID)) {
+            treasuryTotalsRepository.saveAndFlush(TreasuryTotalsEntity.builder().id(TreasuryTotalsEntity.ID).build());
+        }
+        treasuryTotalsRepository.recompute(TreasuryTotalsEntity.ID, MovementType.INCOME, MovementType.EXPENSE);
+        ledgerVersion.bump();
+        var totals = get();
+        log.debug("[TREASURY] Totals recomputed from the ledger");
+        return new TreasuryTotalsDto(
+                totals.getTeamIncomes(), totals.getTeamExpenses(), totals.getMemberIncomes(), totals.getMemberExpenses());
+    }
+
+    private TreasuryTotalsEntity get() {
+        return treasuryTotalsRepository.findById(TreasuryTotalsEntity.ID)
+                .orElseGet(() -> TreasuryTotalsEntity.builder().id(TreasuryTotalsEntity.ID).build());
+    }
+}
@@ -0,0 +1,169 @@
+package com.torresj.footballteammanagementapi.benchmarks;
+
+import com.itextpdf.text.DocumentException;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import com.torresj.footballteammanagementapi.dtos.MovementDto;
+import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.reports.BalanceReportDataset;
+import com.torresj.footballteammanagementapi.reports.PdfReportRenderer;
+import com.torresj.footballteammanagementapi.reports.ReportLine;
+import com.torresj.footballteammanagementapi.reports.ReportProgress;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Balance report rendering over a synthetic ledger, without the database. {@code lean} is the
+ * renderer used by the service, {@code baseline} the report as it was rendered before it, both fed
+ * the same members and movements. The setup checks that both documents have the same pages and
+ * rows. The benchmark profile runs with the GC profiler, so gc.alloc.rate.norm is the number of
+ * bytes allocated per report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class BalanceReportBenchmark {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 30);
+    private static final Pattern MOVEMENT_ROW = Pattern.compile("^\\d{2}/\\d{2}/\\d{4} ", Pattern.MULTILINE);
+
+    @Param({"50"})
+    private int members;
+
+    @Param({"500"})
+    private int movementsPerMember;
+
+    private BalanceReportDataset dataset;
+    private BaselineBalanceReport baselineReport;
+
+    @Setup
+    public void setup() throws DocumentException, IOException {
+        LocalDate seasonStart = LocalDate.of(2023, 9, 1);
+        double[] amounts = {-40, -2, -5, 40, 2, 5, 12.5};
+        List<BalanceReportDataset.Member> sections = new ArrayList<>(members);
+        List<ReportLine> lines = new ArrayList<>(members * movementsPerMember);
+        List<List<MovementDto>> memberMovements = new ArrayList<>(members);
+        double[] memberBalances = new double[members];
+        double expenses = 0;
+        double incomes = 0;
+        long id = 0;
+        for (int m = 0; m < members; m++) {
+            BalanceReportDataset.Member member = new BalanceReportDataset.Member(m, "Member" + m, "Surname" + m);
+            List<MovementDto> movements = new ArrayList<>(movementsPerMember);
+            for (int i = movementsPerMember - 1; i >= 0; i--) {
+                double amount = amounts[(m + i) % amounts.length];
+                MovementType type = amount < 0 ? MovementType.EXPENSE : MovementType.INCOME;
+                ReportLine line = new ReportLine((long) m, type, seasonStart.plusDays(i * 300L / movementsPerMember),
+                        type == MovementType.EXPENSE ? "Multa por llegar tarde" : "Pago", amount);
+                lines.add(line);
+                movements.add(movementDto(id++, line, member.fullName()));
+                memberBalances[m] += amount;
+                if (type == MovementType.EXPENSE) expenses += amount;
+                else incomes += amount;
+            }
+            sections.add(member);
+            memberMovements.add(movements);
+        }
+        List<ReportLine> teamLines = new ArrayList<>();
+        List<MovementDto> teamMovements = new ArrayList<>();
+        double teamExpenses = 0;
+        double teamIncomes = 0;
+        for (int i = 0; i < 200; i++) {
+            double amount = i % 2 == 0 ? -35.5 : 60;
+            MovementType type = amount < 0 ? MovementType.EXPENSE : MovementType.INCOME;
+            ReportLine line = new ReportLine(type, seasonStart.plusDays(i), "Alquiler del campo", amount);
+            teamLines.add(line);
+            teamMovements.add(movementDto(id++, line, null));
+            if (type == MovementType.EXPENSE) teamExpenses += amount;
+            else teamIncomes += amount;
+        }
+        dataset = new BalanceReportDataset(sections, teamLines::stream, lines::stream);
+        baselineReport = new BaselineBalanceReport(TODAY, sections, teamMovements, memberMovements, memberBalances,
+                new TotalBalanceDto(expenses, incomes), new TotalBalanceDto(teamExpenses, teamIncomes));
+
+        checkSameLayout();
+    }
+
+    @Benchmark
+    public long lean() throws DocumentException {
+        CountingOutputStream output = new CountingOutputStream();
+        new PdfReportRenderer(output, TODAY).renderBalance(dataset, ReportProgress.NONE);
+        return output.count;
+    }
+
+    @Benchmark
+    public long baseline() throws DocumentException {
+        CountingOutputStream output = new CountingOutputStream();
+        baselineReport.render(output);
+        return output.count;
+    }
+
+    // Movements as the services handed them to the old report, dates as yyyy-MM-dd
+    private static MovementDto movementDto(long id, ReportLine line, String memberName) {
+        return new MovementDto(id, line.type(), memberName, line.amount(), line.description(),
+                line.createdOn().toString());
+    }
+
+    private void checkSameLayout() throws DocumentException, IOException {
+        ByteArrayOutputStream lean = new ByteArrayOutputStream();
+        new PdfReportRenderer(lean, TODAY).renderBalance(dataset, ReportProgress.NONE);
+        ByteArrayOutputStream baseline = new ByteArrayOutputStream();
+        baselineReport.render(baseline);
+
+        PdfReader leanReader = new PdfReader(lean.toByteArray());
+        PdfReader baselineReader = new PdfReader(baseline.toByteArray());
+        if (leanReader.getNumberOfPages() != baselineReader.getNumberOfPages()) {
+            throw new IllegalStateException("Pages differ: lean " + leanReader.getNumberOfPages()
+                    + ", baseline " + baselineReader.getNumberOfPages());
+        }
+        int expectedRows = members * movementsPerMember + 200;
+        int[] leanRows = rows(leanReader);
+        int[] baselineRows = rows(baselineReader);
+        if (leanRows[0] != expectedRows || baselineRows[0] != expectedRows || leanRows[1] != baselineRows[1]) {
+            throw new IllegalStateException("Rows differ: expected " + expectedRows + " movements, lean "
+                    + leanRows[0] + " movements in " + leanRows[1] + " lines, baseline " + baselineRows[0]
+                    + " movements in " + baselineRows[1] + " lines");
+        }
+        leanReader.close();
+        baselineReader.close();
+    }
+
+    // Movement rows and text lines over the whole document
+    private static int[] rows(PdfReader reader) throws IOException {
+        int movements = 0;
+        int lines = 0;
+        for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+            String text = PdfTextExtractor.getTextFromPage(reader, page);
+            movements += (int) MOVEMENT_ROW.matcher(text).results().count();
+            lines += (int) text.lines().count();
+        }
+        return new int[]{movements, lines};
+    }
+
+    // Keeps the size of the document without holding it, so the output doesn't count as allocation
+    private static class CountingOutputStream extends OutputStream {
+        private long count;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.torresj.footballteammanagementapi.benchmarks;
+
+import com.torresj.footballteammanagementapi.configs.ExecutorConfig;
+import com.torresj.footballteammanagementapi.dtos.ResponseLoginDto;
+import com.torresj.footballteammanagementapi.entities.MemberEntity;
+import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.exceptions.ServerBusyException;
+import com.torresj.footballteammanagementapi.repositories.MemberRepository;
+import com.torresj.footballteammanagementapi.services.LoginService;
+import com.torresj.footballteammanagementapi.services.impl.JwtServiceImpl;
+import com.torresj.footballteammanagementapi.services.impl.LoginServiceImpl;
+import com.torresj.footballteammanagementapi.services.impl.PasswordServiceImpl;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logins per second through LoginServiceImpl for each BCrypt cost, without the database: password
+ * checks go through the bounded hashing pool and a JWT is signed for every login. {@code login}
+ * verifies a hash that already has the configured cost, {@code loginWithRehash} one two steps
+ * cheaper, so every login also rehashes the password (at cost 4 there is nothing cheaper and both
+ * are the same). {@code hash} is a bare BCrypt encode. Run it with more threads (-t) to see how the
+ * hashing pool saturates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class PasswordHashingBenchmark {
+
+    private static final String USER_NAME = "Member.Surname";
+    private static final String PASSWORD = "password";
+
+    @Param({"4", "8", "10", "12"})
+    private int strength;
+
+    private BCryptPasswordEncoder encoder;
+    private ThreadPoolTaskExecutor hashingExecutor;
+    private LoginService loginService;
+    private LoginService rehashingLoginService;
+    private final AtomicLong nonce = new AtomicLong();
+
+    @Setup
+    public void setup() {
+        encoder = new BCryptPasswordEncoder(strength);
+        hashingExecutor = new ExecutorConfig().passwordHashingExecutor(0, 100);
+        var passwordService = new PasswordServiceImpl(encoder, hashingExecutor, strength);
+        var jwtService = new JwtServiceImpl("SecretKeyToGenerateAJSONWebTokens", "100000000", "Bearer", "Benchmark");
+
+        loginService = new LoginServiceImpl(
+                memberRepository(encoder.encode(PASSWORD)), jwtService, passwordService);
+        // The repository never stores the new hash, so every login finds the old cost again
+        rehashingLoginService = new LoginServiceImpl(
+                memberRepository(new BCryptPasswordEncoder(Math.max(4, strength - 2)).encode(PASSWORD)),
+                jwtService, passwordService);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Benchmark
+    public ResponseLoginDto login() throws MemberNotFoundException, ServerBusyException {
+        return loginService.login(USER_NAME, PASSWORD, nonce.incrementAndGet());
+    }
+
+    @Benchmark
+    public ResponseLoginDto loginWithRehash() throws MemberNotFoundException, ServerBusyException {
+        return rehashingLoginService.login(USER_NAME, PASSWORD, nonce.incrementAndGet());
+    }
+
+    @Benchmark
+    public String hash() {
+        return encoder.encode(PASSWORD);
+    }
+
+    // Answers the three queries a login runs, every nonce is new and every update succeeds
+    private static MemberRepository memberRepository(String hash) {
+        MemberEntity member = MemberEntity.builder().id(1L).name("Member").surname("Surname").password(hash).build();
+        return (MemberRepository) Proxy.newProxyInstance(
+                MemberRepository.class.getClassLoader(),
+                new Class<?>[]{MemberRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByNameAndSurname" -> Optional.of(member);
+                    case "advanceNonce", "updatePasswordIfUnchanged" -> 1;
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,78 @@
+package com.torresj.footballteammanagementapi.benchmarks;
+
+import com.torresj.footballteammanagementapi.FootballTeamManagementApiApplication;
+import com.torresj.footballteammanagementapi.dtos.TotalBalanceDto;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.services.MovementService;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total balance over a large ledger, through the application's services and repositories on the schema
+ * Hibernate creates in H2. {@code totalsRow} is MovementService.getTotalBalance, which reads the
+ * treasury totals row, {@code sumByType} adds up every movement by type with
+ * MovementRepository.sumAmountByType the way the balance was computed before the totals row, so its
+ * cost grows with the ledger. H2 doesn't reuse the result of a repeated query, so both run in full.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 3)
+@Fork(1)
+public class TotalBalanceBenchmark {
+
+    @Param({"1000000"})
+    private int movements;
+
+    private ConfigurableApplicationContext context;
+    private MovementService movementService;
+    private MovementRepository movementRepository;
+
+    @Setup
+    public void setup() {
+        context = new SpringApplicationBuilder(FootballTeamManagementApiApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:balance;DB_CLOSE_DELAY=-1;OPTIMIZE_REUSE_RESULTS=FALSE",
+                        "spring.datasource.username=sa")
+                .run();
+        movementService = context.getBean(MovementService.class);
+        movementRepository = context.getBean(MovementRepository.class);
+
+        // Half expenses of -1 and half incomes of 1, loaded in one statement and then added to the totals row
+        context.getBean(JdbcTemplate.class).update(
+                "INSERT INTO movement_entity (type, member_id, amount, description, created_on) "
+                        + "SELECT MOD(X, 2), 1, CASE WHEN MOD(X, 2) = 0 THEN -1 ELSE 1 END, '', CURRENT_DATE "
+                        + "FROM SYSTEM_RANGE(1, ?)", movements);
+        context.getBean(TreasuryService.class).recompute();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TotalBalanceDto totalsRow() {
+        return movementService.getTotalBalance();
+    }
+
+    @Benchmark
+    public TotalBalanceDto sumByType() {
+        double expenses = 0;
+        double incomes = 0;
+        for (var total : movementRepository.sumAmountByType()) {
+            if (total.getType() == MovementType.EXPENSE) expenses += total.getTotal();
+            else incomes += total.getTotal();
+        }
+        return new TotalBalanceDto(expenses, incomes);
+    }
+}
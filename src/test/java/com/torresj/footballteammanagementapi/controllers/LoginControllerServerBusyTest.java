@@ -0,0 +1,97 @@
+package com.torresj.footballteammanagementapi.controllers;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torresj.footballteammanagementapi.dtos.RequestLoginDto;
+
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+/** Runs with a hashing pool of one thread and a queue of one task, so it can be filled from the test. */
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"password.hashing.pool-size=1", "password.hashing.queue-capacity=1"})
+@AutoConfigureMockMvc
+public class LoginControllerServerBusyTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolTaskExecutor passwordHashingExecutor;
+
+    @Value("${admin.user}")
+    private String adminUser;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    @Test
+    @DisplayName("Login while the hashing pool is full")
+    void loginWithHashingPoolFull() throws Exception {
+        var running = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        Runnable blocking = () -> {
+            running.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        try {
+            // One task holds the only thread and another one fills the queue
+            passwordHashingExecutor.execute(blocking);
+            Assertions.assertTrue(running.await(10, TimeUnit.SECONDS));
+            passwordHashingExecutor.execute(blocking);
+
+            mockMvc
+                    .perform(
+                            MockMvcRequestBuilders.post("/v1/login")
+                                    .accept(MediaType.APPLICATION_JSON)
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content(
+                                            objectMapper.writeValueAsString(
+                                                    new RequestLoginDto(
+                                                            adminUser + "." + adminUser,
+                                                            adminPassword,
+                                                            Instant.now().getEpochSecond()))))
+                    .andExpect(status().isTooManyRequests())
+                    .andExpect(jsonPath("$.title").value("Too many requests"));
+        } finally {
+            release.countDown();
+        }
+
+        // Once the pool drains the same login goes through
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.post("/v1/login")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        objectMapper.writeValueAsString(
+                                                new RequestLoginDto(
+                                                        adminUser + "." + adminUser,
+                                                        adminPassword,
+                                                        Instant.now().getEpochSecond() + 1))))
+                .andExpect(status().isOk());
+    }
+}
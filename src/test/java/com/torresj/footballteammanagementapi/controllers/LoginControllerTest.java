@@ -11,6 +11,12 @@ import com.torresj.footballteammanagementapi.repositories.MemberRepository;
 import com.torresj.footballteammanagementapi.services.JwtService;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.DisplayName;
@@ -20,6 +26,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -47,6 +54,9 @@ public class LoginControllerTest {
     @Value("${admin.password}")
     private String adminPassword;
 
+    @Value("${password.bcrypt.strength}")
+    private int strength;
+
     @Test
     @DisplayName("Login with an admin user")
     void loginWithAdmin() throws Exception {
@@ -160,4 +170,116 @@ public class LoginControllerTest {
 
         memberRepository.delete(member);
     }
+
+    @Test
+    @DisplayName("Login keeps member fields")
+    void loginKeepsMemberFields() throws Exception {
+        var member = memberRepository.save(
+                MemberEntity.builder()
+                        .name("loginKeepsFields")
+                        .surname("test")
+                        .alias("alias")
+                        .phone("")
+                        .role(Role.USER)
+                        .password(encoder.encode("test"))
+                        .nCaptaincies(2)
+                        .injured(true)
+                        .blocked(true)
+                        .build());
+        long nonce = Instant.now().getEpochSecond();
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.post("/v1/login")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        objectMapper.writeValueAsString(
+                                                new RequestLoginDto("loginKeepsFields.test", "test", nonce))))
+                .andExpect(status().isOk());
+
+        var entity = memberRepository.findById(member.getId()).orElseThrow();
+        Assertions.assertEquals(nonce, entity.getNonce());
+        Assertions.assertTrue(entity.isBlocked());
+        Assertions.assertTrue(entity.isInjured());
+        Assertions.assertEquals("alias", entity.getAlias());
+        Assertions.assertEquals(2, entity.getNCaptaincies());
+
+        memberRepository.delete(member);
+    }
+
+    @Test
+    @DisplayName("Login rehashes a password hashed with a different cost")
+    void loginRehashesPassword() throws Exception {
+        var member = memberRepository.save(
+                MemberEntity.builder()
+                        .name("loginRehash")
+                        .surname("test")
+                        .phone("")
+                        .role(Role.USER)
+                        .password(new BCryptPasswordEncoder(5).encode("test"))
+                        .build());
+        mockMvc
+                .perform(
+                        MockMvcRequestBuilders.post("/v1/login")
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(
+                                        objectMapper.writeValueAsString(
+                                                new RequestLoginDto(
+                                                        "loginRehash.test", "test", Instant.now().getEpochSecond()))))
+                .andExpect(status().isOk());
+
+        var entity = memberRepository.findById(member.getId()).orElseThrow();
+        Assertions.assertTrue(entity.getPassword().startsWith("$2a$" + String.format("%02d", strength) + "$"));
+        Assertions.assertTrue(encoder.matches("test", entity.getPassword()));
+
+        memberRepository.delete(member);
+    }
+
+    @Test
+    @DisplayName("Concurrent logins with the same nonce")
+    void concurrentLoginsWithSameNonce() throws Exception {
+        var member = memberRepository.save(
+                MemberEntity.builder()
+                        .name("loginConcurrent")
+                        .surname("test")
+                        .phone("")
+                        .role(Role.USER)
+                        .password(encoder.encode("test"))
+                        .build());
+        long nonce = Instant.now().getEpochSecond();
+        String request = objectMapper.writeValueAsString(new RequestLoginDto("loginConcurrent.test", "test", nonce));
+
+        int attempts = 8;
+        var executor = Executors.newFixedThreadPool(attempts);
+        var start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> statuses = new ArrayList<>();
+            for (int i = 0; i < attempts; i++) {
+                statuses.add(executor.submit(() -> {
+                    start.await();
+                    return mockMvc
+                            .perform(
+                                    MockMvcRequestBuilders.post("/v1/login")
+                                            .accept(MediaType.APPLICATION_JSON)
+                                            .contentType(MediaType.APPLICATION_JSON)
+                                            .content(request))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus();
+                }));
+            }
+            start.countDown();
+
+            int accepted = 0;
+            for (Future<Integer> status : statuses) {
+                if (status.get(30, TimeUnit.SECONDS) == 200) accepted++;
+            }
+            Assertions.assertEquals(1, accepted);
+            Assertions.assertEquals(nonce, memberRepository.findById(member.getId()).orElseThrow().getNonce());
+        } finally {
+            executor.shutdownNow();
+            memberRepository.delete(member);
+        }
+    }
 }
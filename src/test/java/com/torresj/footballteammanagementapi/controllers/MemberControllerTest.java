@@ -12,15 +12,21 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.torresj.footballteammanagementapi.dtos.*;
 import com.torresj.footballteammanagementapi.entities.MemberEntity;
 import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.enums.ImportRowStatus;
 import com.torresj.footballteammanagementapi.enums.MovementType;
 import com.torresj.footballteammanagementapi.enums.Role;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.repositories.MemberRepository;
 import com.torresj.footballteammanagementapi.repositories.MovementRepository;
 
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -42,6 +48,7 @@ public class MemberControllerTest {
   @Autowired private MemberRepository memberRepository;
   @Autowired private MovementRepository movementRepository;
   @Autowired private PasswordEncoder passwordEncoder;
+  @Autowired private EntityManagerFactory entityManagerFactory;
 
   @Value("${admin.user}")
   private String adminUser;
@@ -108,6 +115,13 @@ public class MemberControllerTest {
     token = response.jwt();
   }
 
+  private Statistics startStatistics() {
+    var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+    return statistics;
+  }
+
   @Test
   @DisplayName("Get all members")
   void getAllMembers() throws Exception {
@@ -143,6 +157,62 @@ public class MemberControllerTest {
     memberRepository.deleteAll(membersEntities);
   }
 
+  @Test
+  @DisplayName("Search members by prefix")
+  void searchMembers() throws Exception {
+    if (adminToken == null) loginWithAdmin();
+
+    mockMvc
+        .perform(
+            post("/v1/members")
+                .header("Authorization", "Bearer " + adminToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    objectMapper.writeValueAsString(
+                        new CreateMemberDto("Íñigo", "Chispa", "Martínez", "", Role.USER))))
+        .andExpect(status().isCreated());
+
+    var statistics = startStatistics();
+    var result =
+        mockMvc
+            .perform(
+                get("/v1/members/search?q=ini mart").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk());
+    // Only the authenticated member lookup hits the database
+    Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+
+    List<MemberSearchDto> members =
+        objectMapper.readValue(
+            result.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), new TypeReference<>() {});
+    Assertions.assertEquals(1, members.size());
+    Assertions.assertEquals("Íñigo", members.get(0).name());
+
+    var byAlias =
+        mockMvc
+            .perform(get("/v1/members/search?q=CHIS").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk());
+    List<MemberSearchDto> membersByAlias =
+        objectMapper.readValue(
+            byAlias.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), new TypeReference<>() {});
+    Assertions.assertEquals(1, membersByAlias.size());
+
+    mockMvc
+        .perform(
+            delete("/v1/members/" + members.get(0).id())
+                .header("Authorization", "Bearer " + adminToken))
+        .andExpect(status().isOk());
+
+    var afterDelete =
+        mockMvc
+            .perform(get("/v1/members/search?q=inigo").header("Authorization", "Bearer " + adminToken))
+            .andExpect(status().isOk());
+    List<MemberSearchDto> membersAfterDelete =
+        objectMapper.readValue(
+            afterDelete.andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8), new TypeReference<>() {});
+    Assertions.assertTrue(membersAfterDelete.isEmpty());
+  }
+
   @Test
   @DisplayName("Get member by ID")
   void getMemberById() throws Exception {
@@ -253,6 +323,69 @@ public class MemberControllerTest {
     movementRepository.deleteAll();
   }
 
+  @Test
+  @DisplayName("Get member statement with running balance")
+  void getMemberStatement() throws Exception {
+    var memberEntity =
+        memberRepository.save(
+            MemberEntity.builder()
+                .name("statementTest")
+                .surname("test")
+                .password("")
+                .phone("")
+                .role(Role.USER)
+                .build());
+    var amounts = List.of(10.0, -3.0, 5.0, -2.0, 1.0);
+    movementRepository.saveAll(
+        amounts.stream()
+            .map(
+                amount ->
+                    MovementEntity.builder()
+                        .memberId(memberEntity.getId())
+                        .type(amount < 0 ? MovementType.EXPENSE : MovementType.INCOME)
+                        .description("")
+                        .amount(amount)
+                        .build())
+            .toList());
+
+    if (adminToken == null) loginWithAdmin();
+
+    List<Double> balances = new ArrayList<>();
+    List<Double> movementAmounts = new ArrayList<>();
+    String after = null;
+    do {
+      var request =
+          get("/v1/members/" + memberEntity.getId() + "/statement?limit=2")
+              .header("Authorization", "Bearer " + adminToken);
+      if (after != null) request.param("after", after);
+      var content =
+          mockMvc
+              .perform(request)
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      var statement = objectMapper.readValue(content, MemberStatementDto.class);
+      statement.content().forEach(entry -> {
+        balances.add(entry.balance());
+        movementAmounts.add(entry.amount());
+      });
+      after = statement.next();
+    } while (after != null);
+
+    // Newest first, each balance includes every older movement
+    Assertions.assertEquals(List.of(1.0, -2.0, 5.0, -3.0, 10.0), movementAmounts);
+    Assertions.assertEquals(List.of(11.0, 10.0, 12.0, 7.0, 10.0), balances);
+
+    mockMvc
+        .perform(
+            get("/v1/members/123456/statement").header("Authorization", "Bearer " + adminToken))
+        .andExpect(status().isNotFound());
+
+    memberRepository.delete(memberEntity);
+    movementRepository.deleteAll();
+  }
+
   @Test
   @DisplayName("Get member movements from member that doesn't exist")
   void getMemberMovementsNotExists() throws Exception {
@@ -348,6 +481,153 @@ public class MemberControllerTest {
         .andExpect(status().isForbidden());
   }
 
+  @Test
+  @DisplayName("Import members from CSV")
+  void importMembersFromCsv() throws Exception {
+    memberRepository.save(
+        MemberEntity.builder()
+            .role(Role.USER)
+            .phone("")
+            .password("test")
+            .name("importExisting")
+            .surname("test")
+            .build());
+    var csv =
+        """
+        name,alias,surname,phone,role,password
+        importCsv1,alias,test,666,USER,
+        importCsv2,,test,,ADMIN,secret
+        importExisting,,test,,USER,
+        importCsv1,,test,,USER,
+        ,,test,,USER,
+        importCsv3,,test,,WRONG,
+        """;
+
+    if (adminToken == null) loginWithAdmin();
+
+    var result =
+        mockMvc
+            .perform(
+                post("/v1/members/import")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType("text/csv")
+                    .content(csv))
+            .andExpect(status().isOk());
+
+    var summary =
+        objectMapper.readValue(
+            result.andReturn().getResponse().getContentAsString(), MemberImportSummaryDto.class);
+
+    Assertions.assertEquals(6, summary.total());
+    Assertions.assertEquals(2, summary.imported());
+    Assertions.assertEquals(
+        List.of(
+            ImportRowStatus.IMPORTED,
+            ImportRowStatus.IMPORTED,
+            ImportRowStatus.DUPLICATED,
+            ImportRowStatus.DUPLICATED,
+            ImportRowStatus.INVALID,
+            ImportRowStatus.INVALID),
+        summary.rows().stream().map(MemberImportResultDto::status).toList());
+
+    var imported = memberRepository.findByNameAndSurname("importCsv2", "test").orElseThrow();
+    Assertions.assertEquals(Role.ADMIN, imported.getRole());
+    Assertions.assertTrue(passwordEncoder.matches("secret", imported.getPassword()));
+    var withDefaultPassword = memberRepository.findByNameAndSurname("importCsv1", "test").orElseThrow();
+    Assertions.assertEquals("alias", withDefaultPassword.getAlias());
+    Assertions.assertEquals("666", withDefaultPassword.getPhone());
+    Assertions.assertFalse(withDefaultPassword.isBlocked());
+
+    memberRepository.deleteAll(
+        memberRepository.findAll().stream()
+            .filter(member -> member.getName().startsWith("import"))
+            .toList());
+  }
+
+  @Test
+  @DisplayName("Import members from NDJSON")
+  void importMembersFromNdjson() throws Exception {
+    var ndjson =
+        """
+        {"name":"importJson1","surname":"test","role":"USER"}
+        {"name":"importJson2","surname":"test","alias":"alias","phone":"666"}
+        {"name":"importJson3"
+        """;
+
+    if (adminToken == null) loginWithAdmin();
+
+    var result =
+        mockMvc
+            .perform(
+                post("/v1/members/import")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType("application/x-ndjson")
+                    .content(ndjson))
+            .andExpect(status().isOk());
+
+    var summary =
+        objectMapper.readValue(
+            result.andReturn().getResponse().getContentAsString(), MemberImportSummaryDto.class);
+
+    Assertions.assertEquals(3, summary.total());
+    Assertions.assertEquals(2, summary.imported());
+    Assertions.assertEquals(ImportRowStatus.INVALID, summary.rows().get(2).status());
+    Assertions.assertTrue(memberRepository.findByNameAndSurname("importJson2", "test").isPresent());
+
+    memberRepository.deleteAll(
+        memberRepository.findAll().stream()
+            .filter(member -> member.getName().startsWith("importJson"))
+            .toList());
+  }
+
+  @Test
+  @DisplayName("Import ten thousand members")
+  void importTenThousandMembers() throws Exception {
+    var csv = new StringBuilder("name,surname\n");
+    for (int i = 0; i < 10_000; i++) {
+      csv.append("bulk").append(i).append(",test\n");
+    }
+
+    if (adminToken == null) loginWithAdmin();
+
+    long start = System.nanoTime();
+    var result =
+        mockMvc
+            .perform(
+                post("/v1/members/import")
+                    .header("Authorization", "Bearer " + adminToken)
+                    .contentType("text/csv")
+                    .content(csv.toString()))
+            .andExpect(status().isOk());
+    long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+    var summary =
+        objectMapper.readValue(
+            result.andReturn().getResponse().getContentAsString(), MemberImportSummaryDto.class);
+    Assertions.assertEquals(10_000, summary.imported());
+    Assertions.assertTrue(elapsedMillis < 10_000, "Import took " + elapsedMillis + " ms");
+
+    memberRepository.deleteAllByIdInBatch(
+        memberRepository.findAll().stream()
+            .filter(member -> member.getName().startsWith("bulk"))
+            .map(MemberEntity::getId)
+            .toList());
+  }
+
+  @Test
+  @DisplayName("Import members without admin role")
+  void importMembersWithoutAdminRole() throws Exception {
+    if (token == null) loginWithUser("User9");
+
+    mockMvc
+        .perform(
+            post("/v1/members/import")
+                .header("Authorization", "Bearer " + token)
+                .contentType("text/csv")
+                .content("name,surname\nimportForbidden,test\n"))
+        .andExpect(status().isForbidden());
+  }
+
   @Test
   @DisplayName("Update member")
   void updateMember() throws Exception {
@@ -556,6 +836,158 @@ public class MemberControllerTest {
     memberRepository.deleteById(entity.getId());
   }
 
+  @Test
+  @DisplayName("Update member injured status keeps the rest of fields")
+  void updateMemberInjuredStatusKeepsFields() throws Exception {
+    var entity =
+        memberRepository.save(
+            MemberEntity.builder()
+                .role(Role.USER)
+                .phone("666")
+                .password("test")
+                .name("injuredKeepsFields")
+                .surname("test")
+                .alias("alias")
+                .nCaptaincies(3)
+                .nonce(7)
+                .injured(false)
+                .blocked(true)
+                .build());
+    var request = new RequestInjuredDto(true);
+
+    if (adminToken == null) loginWithAdmin();
+
+    var statistics = startStatistics();
+    mockMvc
+        .perform(
+            patch("/v1/members/" + entity.getId() + "/injured")
+                .header("Authorization", "Bearer " + adminToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk());
+
+    // One statement to load the authenticated member and one update
+    Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+    var member = memberRepository.findById(entity.getId()).orElseThrow();
+    Assertions.assertTrue(member.isInjured());
+    Assertions.assertTrue(member.isBlocked());
+    Assertions.assertEquals("alias", member.getAlias());
+    Assertions.assertEquals("666", member.getPhone());
+    Assertions.assertEquals(3, member.getNCaptaincies());
+    Assertions.assertEquals(7, member.getNonce());
+    Assertions.assertEquals("test", member.getPassword());
+
+    memberRepository.deleteById(entity.getId());
+  }
+
+  @Test
+  @DisplayName("Update member injured status of a member that doesn't exist")
+  void updateMemberInjuredStatusNotExists() throws Exception {
+    if (adminToken == null) loginWithAdmin();
+
+    mockMvc
+        .perform(
+            patch("/v1/members/" + new Random().nextInt() + "/injured")
+                .header("Authorization", "Bearer " + adminToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new RequestInjuredDto(true))))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  @DisplayName("Update member blocked status keeps the rest of fields")
+  void updateMemberBlockedStatusKeepsFields() throws Exception {
+    var entity =
+        memberRepository.save(
+            MemberEntity.builder()
+                .role(Role.USER)
+                .phone("666")
+                .password("test")
+                .name("blockedKeepsFields")
+                .surname("test")
+                .alias("alias")
+                .nCaptaincies(3)
+                .injured(true)
+                .blocked(false)
+                .build());
+    var request = new RequestBlockedDto(true);
+
+    if (adminToken == null) loginWithAdmin();
+
+    var statistics = startStatistics();
+    mockMvc
+        .perform(
+            patch("/v1/members/" + entity.getId() + "/blocked")
+                .header("Authorization", "Bearer " + adminToken)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+        .andExpect(status().isOk());
+
+    Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+    var member = memberRepository.findById(entity.getId()).orElseThrow();
+    Assertions.assertTrue(member.isBlocked());
+    Assertions.assertTrue(member.isInjured());
+    Assertions.assertEquals("alias", member.getAlias());
+    Assertions.assertEquals(3, member.getNCaptaincies());
+
+    memberRepository.deleteById(entity.getId());
+  }
+
+  @Test
+  @DisplayName("Update logged member alias keeps the rest of fields")
+  void updateLoggedMemberAliasKeepsFields() throws Exception {
+    loginWithUser("User7");
+    memberRepository.updateBlocked(
+        memberRepository.findByNameAndSurname("User7", "User7").orElseThrow().getId(), true);
+
+    var statistics = startStatistics();
+    mockMvc
+        .perform(
+            patch("/v1/members/me/alias")
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdateAliasDto("newAlias"))))
+        .andExpect(status().isOk());
+
+    Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+    var member = memberRepository.findByNameAndSurname("User7", "User7").orElseThrow();
+    Assertions.assertEquals("newAlias", member.getAlias());
+    Assertions.assertTrue(member.isBlocked());
+    Assertions.assertTrue(passwordEncoder.matches("test", member.getPassword()));
+  }
+
+  @Test
+  @DisplayName("Update logged member password keeps the rest of fields")
+  void updateLoggedMemberPasswordKeepsFields() throws Exception {
+    loginWithUser("User8");
+    memberRepository.updateBlocked(
+        memberRepository.findByNameAndSurname("User8", "User8").orElseThrow().getId(), true);
+
+    var statistics = startStatistics();
+    mockMvc
+        .perform(
+            patch("/v1/members/me/password")
+                .header("Authorization", "Bearer " + token)
+                .accept(MediaType.APPLICATION_JSON)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new UpdatePasswordDto("test2"))))
+        .andExpect(status().isOk());
+
+    Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+    var member = memberRepository.findByNameAndSurname("User8", "User8").orElseThrow();
+    Assertions.assertTrue(passwordEncoder.matches("test2", member.getPassword()));
+    Assertions.assertTrue(member.isBlocked());
+    Assertions.assertEquals(1, member.getNonce());
+  }
+
   @Test
   @DisplayName("Delete member")
   void deleteMember() throws Exception {
@@ -1,6 +1,10 @@
 package com.torresj.footballteammanagementapi.controllers;
 
+import static org.hamcrest.Matchers.containsString;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -8,14 +12,23 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.torresj.footballteammanagementapi.dtos.*;
 import com.torresj.footballteammanagementapi.entities.MemberEntity;
 import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.enums.BulkItemStatus;
 import com.torresj.footballteammanagementapi.enums.MovementType;
 import com.torresj.footballteammanagementapi.enums.Role;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.repositories.MemberRepository;
 import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.search.MovementSearchIndex;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
 
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.json.JSONObject;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +37,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -44,6 +58,14 @@ public class MovementControllerTest {
     private MovementRepository movementRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TreasuryService treasuryService;
+    @Autowired
+    private MovementSearchIndex movementSearchIndex;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     @Value("${admin.user}")
     private String adminUser;
@@ -110,6 +132,13 @@ public class MovementControllerTest {
         token = response.jwt();
     }
 
+    private Statistics startStatistics() {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
     @Test
     @DisplayName("Get all movements without filters")
     void getAllMovements() throws Exception {
@@ -340,6 +369,232 @@ public class MovementControllerTest {
         movementRepository.deleteAll();
     }
 
+    @Test
+    @DisplayName("Get a movements page with a single query")
+    void getMovementsPageWithSingleQuery() throws Exception {
+        var members = memberRepository.saveAll(
+                List.of(
+                        MemberEntity.builder().name("pageMember1").surname("test").phone("").role(Role.USER).password("").build(),
+                        MemberEntity.builder().name("pageMember2").surname("test").phone("").role(Role.USER).password("").build()));
+        var movements = new ArrayList<MovementEntity>();
+        for (int i = 0; i < 100; i++) {
+            movements.add(
+                    MovementEntity.builder()
+                            .amount(10)
+                            .type(MovementType.INCOME)
+                            .description("page test " + i)
+                            .memberId(i % 3 == 0 ? 123456 : members.get(i % 2).getId())
+                            .build());
+        }
+        movementRepository.saveAll(movements);
+
+        if (adminToken == null) loginWithAdmin();
+
+        var statistics = startStatistics();
+        var result =
+                mockMvc
+                        .perform(get("/v1/movements?elements=50&page=0&filter=PAGE").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        // Authenticated member lookup and the page query, the total comes from the search index
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+        var content = result.andReturn().getResponse().getContentAsString();
+        List<MovementDto> page =
+                objectMapper.readValue(new JSONObject(content).getString("content"), new TypeReference<>() {
+                });
+
+        Assertions.assertEquals(50, page.size());
+        Assertions.assertEquals(100, new JSONObject(content).getInt("totalElements"));
+        Assertions.assertTrue(page.stream().anyMatch(movement -> movement.memberName().equals("Not found")));
+        Assertions.assertTrue(page.stream().anyMatch(movement -> movement.memberName().equals("pageMember1 test")));
+        Assertions.assertTrue(page.stream().anyMatch(movement -> movement.memberName().equals("pageMember2 test")));
+
+        movementRepository.deleteAll();
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    @DisplayName("Get movements filtered by description sorted by relevance")
+    void getMovementsByRelevance() throws Exception {
+        var movements = movementRepository.saveAll(
+                List.of(
+                        MovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Cuotas extra")
+                                .memberId(5)
+                                .build(),
+                        MovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Cuota cuota anual")
+                                .memberId(5)
+                                .build(),
+                        MovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Cuota")
+                                .memberId(5)
+                                .build(),
+                        MovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Multa")
+                                .memberId(5)
+                                .build()));
+
+        if (adminToken == null) loginWithAdmin();
+
+        var result =
+                mockMvc
+                        .perform(get("/v1/movements?elements=2&page=0&memberId=5&filter=cuota").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+
+        var content = result.andReturn().getResponse().getContentAsString();
+        List<MovementDto> page =
+                objectMapper.readValue(new JSONObject(content).getString("content"), new TypeReference<>() {
+                });
+
+        Assertions.assertEquals(3, new JSONObject(content).getInt("totalElements"));
+        Assertions.assertEquals(
+                List.of(movements.get(1).getId(), movements.get(2).getId()),
+                page.stream().map(MovementDto::id).toList());
+
+        movementRepository.deleteById(movements.get(1).getId());
+
+        result =
+                mockMvc
+                        .perform(get("/v1/movements?elements=2&page=0&memberId=5&filter=cuota").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        content = result.andReturn().getResponse().getContentAsString();
+        page = objectMapper.readValue(new JSONObject(content).getString("content"), new TypeReference<>() {
+        });
+
+        Assertions.assertEquals(
+                List.of(movements.get(2).getId(), movements.get(0).getId()),
+                page.stream().map(MovementDto::id).toList());
+
+        movementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Filter movements by part of a word, the same in pages and cursors")
+    void getMovementsByPartOfAWord() throws Exception {
+        var movements = movementRepository.saveAll(
+                List.of(
+                        MovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Equipación nueva")
+                                .memberId(6)
+                                .build(),
+                        MovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Multa")
+                                .memberId(6)
+                                .build()));
+
+        if (adminToken == null) loginWithAdmin();
+
+        var content = mockMvc
+                .perform(get("/v1/movements?elements=10&page=0&memberId=6&filter=quipa")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<MovementDto> page =
+                objectMapper.readValue(new JSONObject(content).getString("content"), new TypeReference<>() {
+                });
+        Assertions.assertEquals(List.of(movements.get(0).getId()), page.stream().map(MovementDto::id).toList());
+
+        var slice = objectMapper.readValue(
+                mockMvc
+                        .perform(get("/v1/movements?limit=10&memberId=6&filter=quipa")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                MovementSliceDto.class);
+        Assertions.assertEquals(List.of(movements.get(0).getId()), slice.content().stream().map(MovementDto::id).toList());
+
+        // A filter without words is no filter
+        content = mockMvc
+                .perform(get("/v1/movements?elements=10&page=0&memberId=6&filter= -")
+                        .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        Assertions.assertEquals(2, new JSONObject(content).getInt("totalElements"));
+        slice = objectMapper.readValue(
+                mockMvc
+                        .perform(get("/v1/movements?limit=10&memberId=6&filter=")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk())
+                        .andReturn().getResponse().getContentAsString(),
+                MovementSliceDto.class);
+        Assertions.assertEquals(2, slice.content().size());
+
+        movementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Walk movements with a cursor")
+    void getMovementsWithCursor() throws Exception {
+        var movements = new ArrayList<MovementEntity>();
+        for (int i = 0; i < 5; i++) {
+            movements.add(
+                    MovementEntity.builder()
+                            .amount(10)
+                            .type(MovementType.INCOME)
+                            .description("cursor test " + i)
+                            .memberId(3)
+                            .build());
+        }
+        movementRepository.saveAll(movements);
+        movementRepository.save(
+                MovementEntity.builder().amount(10).type(MovementType.INCOME).description("cursor test").memberId(4).build());
+
+        if (adminToken == null) loginWithAdmin();
+
+        List<Long> ids = new ArrayList<>();
+        String after = null;
+        int slices = 0;
+        do {
+            var request =
+                    get("/v1/movements?limit=2&memberId=3&filter=CURSOR")
+                            .header("Authorization", "Bearer " + adminToken);
+            if (after != null) request.param("after", after);
+
+            var statistics = startStatistics();
+            var result = mockMvc.perform(request).andExpect(status().isOk());
+            // Authenticated member lookup and the slice query, no count query
+            Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+            var slice = objectMapper.readValue(
+                    result.andReturn().getResponse().getContentAsString(), MovementSliceDto.class);
+            slice.content().forEach(movement -> ids.add(movement.id()));
+            after = slice.next();
+            Assertions.assertEquals(slice.hasNext(), after != null);
+            slices++;
+        } while (after != null);
+
+        Assertions.assertEquals(3, slices);
+        Assertions.assertEquals(
+                movements.stream().map(MovementEntity::getId).sorted(Comparator.reverseOrder()).toList(), ids);
+
+        movementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Get movements with an invalid cursor")
+    void getMovementsWithInvalidCursor() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+
+        mockMvc
+                .perform(
+                        get("/v1/movements?limit=2&after=notACursor")
+                                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Get movement by ID")
     void getMovementById() throws Exception {
@@ -395,6 +650,68 @@ public class MovementControllerTest {
         movementRepository.deleteAll();
     }
 
+    @Test
+    @DisplayName("Create movements in bulk")
+    void createMovementsInBulk() throws Exception {
+        var members = memberRepository.saveAll(
+                List.of(
+                        MemberEntity.builder().name("bulkMovement1").surname("test").phone("").role(Role.USER).password("").build(),
+                        MemberEntity.builder().name("bulkMovement2").surname("test").phone("").role(Role.USER).password("").build()));
+        var request = Arrays.asList(
+                new CreateMovementDto(MovementType.INCOME, members.get(0).getId(), -5, "Pago partido bulk"),
+                new CreateMovementDto(MovementType.EXPENSE, members.get(1).getId(), 5, "Multa bulk"),
+                new CreateMovementDto(MovementType.INCOME, 123456, 5, "Pago partido bulk"),
+                new CreateMovementDto(null, members.get(1).getId(), 5, "Pago partido bulk"),
+                null);
+
+        if (adminToken == null) loginWithAdmin();
+
+        var statistics = startStatistics();
+        var result =
+                mockMvc
+                        .perform(
+                                post("/v1/movements/bulk")
+                                        .header("Authorization", "Bearer " + adminToken)
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isOk());
+        // Authenticated member lookup, one IN query for every member and one treasury update per movement
+        // type, inserts are a JDBC batch
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+
+        var summary = objectMapper.readValue(
+                result.andReturn().getResponse().getContentAsString(), BulkMovementSummaryDto.class);
+        Assertions.assertEquals(5, summary.total());
+        Assertions.assertEquals(2, summary.created());
+        Assertions.assertEquals(3, summary.rejected());
+        Assertions.assertEquals(
+                List.of(
+                        BulkItemStatus.CREATED,
+                        BulkItemStatus.CREATED,
+                        BulkItemStatus.MEMBER_NOT_FOUND,
+                        BulkItemStatus.INVALID,
+                        BulkItemStatus.INVALID),
+                summary.items().stream().map(BulkMovementResultDto::status).toList());
+
+        var income = movementRepository.findById(summary.items().get(0).movementId()).orElseThrow();
+        Assertions.assertEquals(5, income.getAmount());
+        Assertions.assertEquals(members.get(0).getId(), income.getMemberId());
+        var expense = movementRepository.findById(summary.items().get(1).movementId()).orElseThrow();
+        Assertions.assertEquals(-5, expense.getAmount());
+        Assertions.assertNotNull(expense.getCreatedOn());
+
+        // Batched movements are searchable right away
+        result =
+                mockMvc
+                        .perform(get("/v1/movements?elements=10&page=0&filter=bulk").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        Assertions.assertEquals(2, new JSONObject(result.andReturn().getResponse().getContentAsString()).getInt("totalElements"));
+
+        movementRepository.deleteAll();
+        memberRepository.deleteAll(members);
+    }
+
     @Test
     @DisplayName("Create movement user not found")
     void createMovementUserNotFound() throws Exception {
@@ -525,7 +842,8 @@ public class MovementControllerTest {
                                 .description("")
                                 .memberId(2)
                                 .build()));
-
+        // Rows saved through the repository skip the treasury deltas
+        treasuryService.recompute();
 
         if (token == null) loginWithUser("testUser6");
 
@@ -544,6 +862,243 @@ public class MovementControllerTest {
         movementRepository.deleteAll(movements);
     }
 
+    @Test
+    @DisplayName("Get total balance without reading the ledger")
+    void getTotalBalanceWithoutReadingTheLedger() throws Exception {
+        // Half expenses of -1 and half incomes of 1, MovementType is stored by ordinal
+        jdbcTemplate.update(
+                "INSERT INTO movement_entity (type, member_id, amount, description, created_on) "
+                        + "SELECT MOD(X, 2), 1, CASE WHEN MOD(X, 2) = 0 THEN -1 ELSE 1 END, '', CURRENT_DATE "
+                        + "FROM SYSTEM_RANGE(1, 100)");
+        treasuryService.recompute();
+
+        if (token == null) loginWithUser("testUser9");
+
+        var statistics = startStatistics();
+        var result = mockMvc
+                .perform(
+                        get("/v1/movements/balance")
+                                .header("Authorization", "Bearer " + token))
+                .andExpect(status().isOk());
+
+        var content = result.andReturn().getResponse().getContentAsString();
+        TotalBalanceDto response = objectMapper.readValue(content, TotalBalanceDto.class);
+
+        Assertions.assertEquals(-50, response.totalExpenses());
+        Assertions.assertEquals(50, response.totalIncomes());
+        // Authenticated member lookup plus the treasury totals row, the ledger is not read at all,
+        // TotalBalanceBenchmark measures the same read against a million movements
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+
+        movementRepository.deleteAllInBatch();
+        treasuryService.recompute();
+    }
+
+    @Test
+    @DisplayName("Add annual pay once per season")
+    void addAnnualPayOncePerSeason() throws Exception {
+        var members = memberRepository.saveAll(
+                List.of(
+                        MemberEntity.builder().name("annualPay1").surname("test").phone("").role(Role.USER).password("").build(),
+                        MemberEntity.builder().name("annualPay2").surname("test").phone("").role(Role.USER).password("").build()));
+        long nonAdminMembers = memberRepository.findAll().stream()
+                .filter(member -> !adminUser.equals(member.getName()))
+                .count();
+
+        if (adminToken == null) loginWithAdmin();
+
+        var statistics = startStatistics();
+        var result =
+                mockMvc
+                        .perform(post("/v1/movements/annualpay?season=2099").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        // Authenticated member lookup, the insert ... select, the treasury update and the search index reload
+        Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+
+        var summary = objectMapper.readValue(
+                result.andReturn().getResponse().getContentAsString(), AnnualFeeSummaryDto.class);
+        Assertions.assertEquals(2099, summary.season());
+        Assertions.assertEquals(nonAdminMembers, summary.membersCharged());
+
+        result =
+                mockMvc
+                        .perform(post("/v1/movements/annualpay?season=2099").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        summary = objectMapper.readValue(
+                result.andReturn().getResponse().getContentAsString(), AnnualFeeSummaryDto.class);
+        Assertions.assertEquals(0, summary.membersCharged());
+
+        for (var member : members) {
+            var movements = movementRepository.findByMemberId(member.getId(), Sort.by(Sort.Direction.DESC, "createdOn"));
+            Assertions.assertEquals(1, movements.size());
+            Assertions.assertEquals(-70, movements.get(0).getAmount());
+            Assertions.assertEquals(MovementType.EXPENSE, movements.get(0).getType());
+            Assertions.assertEquals(2099, movements.get(0).getFeeSeason());
+        }
+
+        // Closing the season moves the fees to the archive, they must not be charged again
+        jdbcTemplate.update(
+                "INSERT INTO movement_archive_entity (id, season, type, member_id, amount, description, created_on, fee_season) "
+                        + "SELECT id, 2099, type, member_id, amount, description, created_on, fee_season "
+                        + "FROM movement_entity WHERE fee_season = 2099");
+        jdbcTemplate.update("DELETE FROM movement_entity WHERE fee_season = 2099");
+        // Rows deleted with JDBC skip the entity listener
+        movementSearchIndex.rebuildMovements();
+        result =
+                mockMvc
+                        .perform(post("/v1/movements/annualpay?season=2099").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        summary = objectMapper.readValue(
+                result.andReturn().getResponse().getContentAsString(), AnnualFeeSummaryDto.class);
+        Assertions.assertEquals(0, summary.membersCharged());
+
+        jdbcTemplate.update("DELETE FROM movement_archive_entity WHERE season = 2099");
+        movementRepository.deleteAll();
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    @DisplayName("Export movements as CSV and NDJSON")
+    void exportMovements() throws Exception {
+        jdbcTemplate.update(
+                "INSERT INTO movement_entity (type, member_id, amount, description, created_on) VALUES "
+                        + "(1, 123456, 10, 'Pago, \"junio\"', DATE '2020-06-01'), "
+                        + "(0, 123456, -5, 'Multa', DATE '2020-07-01'), "
+                        + "(0, 123457, -5, 'Multa', DATE '2021-01-01')");
+
+        if (adminToken == null) loginWithAdmin();
+
+        var started =
+                mockMvc
+                        .perform(get("/v1/movements/export?format=csv&to=2020-12-31").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        var lines = started.getResponse().getContentAsString().lines().toList();
+
+        Assertions.assertEquals(3, lines.size());
+        Assertions.assertEquals("id,type,memberName,amount,description,createdOn", lines.get(0));
+        Assertions.assertTrue(lines.get(1).endsWith(",INCOME,Not found,10.0,\"Pago, \"\"junio\"\"\",2020-06-01"));
+        Assertions.assertTrue(lines.get(2).endsWith(",EXPENSE,Not found,-5.0,Multa,2020-07-01"));
+
+        started =
+                mockMvc
+                        .perform(get("/v1/movements/export?format=ndjson&from=2020-07-01&to=2021-12-31").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        var movements = started.getResponse().getContentAsString().lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readValue(line, MovementDto.class);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+
+        Assertions.assertEquals(List.of("2020-07-01", "2021-01-01"), movements.stream().map(MovementDto::createdOn).toList());
+
+        mockMvc
+                .perform(get("/v1/movements/export?format=pdf").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                .andExpect(jsonPath("$.detail").value(containsString("format")));
+
+        movementRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @DisplayName("Get movements filtered by type and dates")
+    void getMovementsFilteredByTypeAndDates() throws Exception {
+        jdbcTemplate.update(
+                "INSERT INTO movement_entity (type, member_id, amount, description, created_on) VALUES "
+                        + "(1, 123456, 10, 'Pago', DATE '2020-06-01'), "
+                        + "(0, 123456, -5, 'Multa', DATE '2020-07-01'), "
+                        + "(0, 123457, -5, 'Multa', DATE '2021-01-01'), "
+                        + "(0, 123456, -3, 'Multa', DATE '2021-02-01')");
+
+        if (adminToken == null) loginWithAdmin();
+
+        var result =
+                mockMvc
+                        .perform(get("/v1/movements?elements=10&page=0&type=EXPENSE&from=2020-06-15&to=2021-01-31")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        List<MovementDto> page =
+                objectMapper.readValue(
+                        new JSONObject(result.andReturn().getResponse().getContentAsString()).getString("content"),
+                        new TypeReference<>() {
+                        });
+        Assertions.assertEquals(List.of("2021-01-01", "2020-07-01"), page.stream().map(MovementDto::createdOn).toList());
+
+        result =
+                mockMvc
+                        .perform(get("/v1/movements?elements=10&page=0&type=EXPENSE&memberId=123456&to=2021-01-31")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        page =
+                objectMapper.readValue(
+                        new JSONObject(result.andReturn().getResponse().getContentAsString()).getString("content"),
+                        new TypeReference<>() {
+                        });
+        Assertions.assertEquals(List.of("2020-07-01"), page.stream().map(MovementDto::createdOn).toList());
+
+        result =
+                mockMvc
+                        .perform(get("/v1/movements?limit=10&type=EXPENSE&memberId=123456")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        var slice = objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), MovementSliceDto.class);
+        Assertions.assertEquals(
+                List.of("2021-02-01", "2020-07-01"), slice.content().stream().map(MovementDto::createdOn).toList());
+
+        // Rows inserted with JDBC skip the entity listener
+        movementSearchIndex.rebuildMovements();
+        var statistics = startStatistics();
+        result =
+                mockMvc
+                        .perform(get("/v1/movements?elements=1&page=0&filter=multa&type=EXPENSE&to=2021-01-31")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        // Authenticated member lookup and the page query, the index applies the type and dates
+        Assertions.assertEquals(2, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(
+                2, new JSONObject(result.andReturn().getResponse().getContentAsString()).getInt("totalElements"));
+
+        mockMvc
+                .perform(get("/v1/movements?elements=10&page=0&type=FINE").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        movementRepository.deleteAllInBatch();
+        movementSearchIndex.rebuildMovements();
+    }
+
+    @Test
+    @DisplayName("Type and date filters use the composite indexes")
+    void movementFiltersUseCompositeIndexes() {
+        String byType = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT m.id FROM movement_entity m LEFT JOIN member_entity mem ON mem.id = m.member_id "
+                        + "WHERE m.type = 0 AND m.created_on >= DATE '2020-01-01' AND m.created_on <= DATE '2020-12-31' "
+                        + "ORDER BY m.created_on DESC, m.id DESC",
+                String.class);
+        Assertions.assertTrue(byType.toUpperCase().contains("IDX_MOVEMENT_TYPE_CREATED_ON"), byType);
+
+        String byMemberAndType = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT m.id FROM movement_entity m LEFT JOIN member_entity mem ON mem.id = m.member_id "
+                        + "WHERE m.member_id = 1 AND m.type = 0 AND m.created_on >= DATE '2020-01-01' "
+                        + "ORDER BY m.created_on DESC, m.id DESC",
+                String.class);
+        Assertions.assertTrue(
+                byMemberAndType.toUpperCase().contains("IDX_MOVEMENT_MEMBER_TYPE_CREATED_ON"), byMemberAndType);
+
+        String teamByType = jdbcTemplate.queryForObject(
+                "EXPLAIN SELECT t.id FROM team_movement_entity t "
+                        + "WHERE t.type = 1 AND t.created_on >= DATE '2020-01-01' ORDER BY t.created_on, t.id",
+                String.class);
+        Assertions.assertTrue(teamByType.toUpperCase().contains("IDX_TEAM_MOVEMENT_TYPE_CREATED_ON"), teamByType);
+    }
+
     @Test
     @DisplayName("Delete movement")
     void deleteMovement() throws Exception {
@@ -0,0 +1,667 @@
+package com.torresj.footballteammanagementapi.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.itextpdf.text.pdf.PdfReader;
+import com.itextpdf.text.pdf.parser.PdfTextExtractor;
+import com.torresj.footballteammanagementapi.dtos.CreateReportJobDto;
+import com.torresj.footballteammanagementapi.dtos.CreateTeamMovementDto;
+import com.torresj.footballteammanagementapi.dtos.ReportJobDto;
+import com.torresj.footballteammanagementapi.dtos.RequestInjuredDto;
+import com.torresj.footballteammanagementapi.dtos.RequestLoginDto;
+import com.torresj.footballteammanagementapi.dtos.ResponseLoginDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryPeriodDto;
+import com.torresj.footballteammanagementapi.dtos.TreasuryReportDto;
+import com.torresj.footballteammanagementapi.entities.MemberEntity;
+import com.torresj.footballteammanagementapi.entities.MovementArchiveEntity;
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.entities.TeamMovementArchiveEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.enums.ReportJobStatus;
+import com.torresj.footballteammanagementapi.enums.ReportType;
+import com.torresj.footballteammanagementapi.enums.Role;
+import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.reports.LedgerVersion;
+import com.torresj.footballteammanagementapi.repositories.MemberRepository;
+import com.torresj.footballteammanagementapi.repositories.MovementArchiveRepository;
+import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import com.torresj.footballteammanagementapi.repositories.TeamMovementArchiveRepository;
+import com.torresj.footballteammanagementapi.repositories.TeamMovementRepository;
+import com.torresj.footballteammanagementapi.services.MatchService;
+import com.torresj.footballteammanagementapi.services.MovementService;
+import com.torresj.footballteammanagementapi.services.SeasonService;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class ReportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private TeamMovementRepository teamMovementRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private MovementArchiveRepository movementArchiveRepository;
+    @Autowired
+    private TeamMovementArchiveRepository teamMovementArchiveRepository;
+    @Autowired
+    private LedgerVersion ledgerVersion;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${admin.user}")
+    private String adminUser;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    private String adminToken;
+    private String token;
+
+    private void loginWithAdmin() throws Exception {
+        var member =
+                memberRepository
+                        .findByNameAndSurname(adminUser, adminUser)
+                        .orElseThrow(() -> new MemberNotFoundException(""));
+
+        var result =
+                mockMvc
+                        .perform(
+                                MockMvcRequestBuilders.post("/v1/login")
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(
+                                                objectMapper.writeValueAsString(
+                                                        new RequestLoginDto(
+                                                                adminUser + "." + adminUser,
+                                                                adminPassword,
+                                                                member.getNonce() + 1))))
+                        .andExpect(status().isOk());
+        var content = result.andReturn().getResponse().getContentAsString();
+        ResponseLoginDto response = objectMapper.readValue(content, ResponseLoginDto.class);
+        adminToken = response.jwt();
+    }
+
+    private void loginWithUser(String name) throws Exception {
+        var entity =
+                memberRepository
+                        .findByNameAndSurname(name, name)
+                        .orElse(
+                                memberRepository.save(
+                                        MemberEntity.builder()
+                                                .role(Role.USER)
+                                                .phone("")
+                                                .password(passwordEncoder.encode("test"))
+                                                .name(name)
+                                                .surname(name)
+                                                .build()));
+
+        var result =
+                mockMvc
+                        .perform(
+                                MockMvcRequestBuilders.post("/v1/login")
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(
+                                                objectMapper.writeValueAsString(
+                                                        new RequestLoginDto(
+                                                                entity.getName() + "." + entity.getSurname(),
+                                                                "test",
+                                                                entity.getNonce() + 1))))
+                        .andExpect(status().isOk());
+        var content = result.andReturn().getResponse().getContentAsString();
+        ResponseLoginDto response = objectMapper.readValue(content, ResponseLoginDto.class);
+        token = response.jwt();
+    }
+
+    private Statistics startStatistics() {
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        return statistics;
+    }
+
+    private void addMembersWithMovements(String prefix, int count, List<MemberEntity> members,
+                                         List<MovementEntity> movements) {
+        for (int i = 0; i < count; i++) {
+            var member = memberRepository.save(
+                    MemberEntity.builder()
+                            .name(prefix + i)
+                            .surname("test")
+                            .phone("")
+                            .role(Role.USER)
+                            .password("")
+                            .build());
+            members.add(member);
+            movements.addAll(movementRepository.saveAll(
+                    List.of(
+                            MovementEntity.builder()
+                                    .memberId(member.getId())
+                                    .type(MovementType.EXPENSE)
+                                    .amount(-10)
+                                    .description("Annual pay")
+                                    .build(),
+                            MovementEntity.builder()
+                                    .memberId(member.getId())
+                                    .type(MovementType.INCOME)
+                                    .amount(10)
+                                    .description("Payment")
+                                    .build())));
+        }
+    }
+
+    private ReportJobDto createJob(ReportType type, Map<String, String> parameters) throws Exception {
+        var content =
+                mockMvc
+                        .perform(
+                                post("/v1/reports/jobs")
+                                        .header("Authorization", "Bearer " + adminToken)
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(objectMapper.writeValueAsString(new CreateReportJobDto(type, parameters))))
+                        .andExpect(status().isAccepted())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        return objectMapper.readValue(content, ReportJobDto.class);
+    }
+
+    private ReportJobDto awaitJob(String id) throws Exception {
+        for (int i = 0; i < 100; i++) {
+            var content =
+                    mockMvc
+                            .perform(get("/v1/reports/jobs/" + id).header("Authorization", "Bearer " + adminToken))
+                            .andExpect(status().isOk())
+                            .andReturn()
+                            .getResponse()
+                            .getContentAsString();
+            var job = objectMapper.readValue(content, ReportJobDto.class);
+            if (job.status() == ReportJobStatus.DONE || job.status() == ReportJobStatus.FAILED) return job;
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Report job " + id + " didn't finish");
+    }
+
+    private byte[] jobContent(String id) throws Exception {
+        var started =
+                mockMvc
+                        .perform(get("/v1/reports/jobs/" + id + "/content").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        return started.getResponse().getContentAsByteArray();
+    }
+
+    private MockHttpServletResponse balancePdf() throws Exception {
+        var started =
+                mockMvc
+                        .perform(get("/v1/reports/balance_pdf").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        return started.getResponse();
+    }
+
+    private int balancePdfStatements() throws Exception {
+        var statistics = startStatistics();
+        var response = balancePdf();
+
+        Assertions.assertEquals(MediaType.APPLICATION_PDF_VALUE, response.getContentType());
+        Assertions.assertTrue(
+                new String(response.getContentAsByteArray(), 0, 4, StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+        return (int) statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DisplayName("Balance PDF runs the same queries whatever the number of members")
+    void balancePdfQueriesDontGrowWithMembers() throws Exception {
+        List<MemberEntity> members = new ArrayList<>();
+        List<MovementEntity> movements = new ArrayList<>();
+        try {
+            if (adminToken == null) loginWithAdmin();
+
+            addMembersWithMovements("reportMember", 3, members, movements);
+            // Rows saved through the repositories don't bump the ledger version
+            ledgerVersion.bump();
+            // Authenticated member lookup, members, member movements and team movements
+            Assertions.assertEquals(4, balancePdfStatements());
+
+            addMembersWithMovements("reportMemberMore", 20, members, movements);
+            ledgerVersion.bump();
+            Assertions.assertEquals(4, balancePdfStatements());
+        } finally {
+            movementRepository.deleteAll(movements);
+            memberRepository.deleteAll(members);
+        }
+    }
+
+    @Test
+    @DisplayName("Balance PDF with tables longer than one flush")
+    void balancePdfWithLongTables() throws Exception {
+        List<MemberEntity> members = new ArrayList<>();
+        List<MovementEntity> movements = new ArrayList<>();
+        try {
+            if (adminToken == null) loginWithAdmin();
+
+            addMembersWithMovements("reportLongMember", 1, members, movements);
+            List<MovementEntity> fines = new ArrayList<>();
+            for (int i = 0; i < 250; i++) {
+                fines.add(MovementEntity.builder()
+                        .memberId(members.get(0).getId())
+                        .type(MovementType.EXPENSE)
+                        .amount(-1)
+                        .description("Fine " + i)
+                        .build());
+            }
+            movements.addAll(movementRepository.saveAll(fines));
+            ledgerVersion.bump();
+
+            byte[] pdf = balancePdf().getContentAsByteArray();
+            var content = new String(pdf, StandardCharsets.ISO_8859_1);
+
+            Assertions.assertTrue(content.startsWith("%PDF"));
+            Assertions.assertTrue(content.trim().endsWith("%%EOF"));
+
+            // The balance is added up while the rows are streamed into the table
+            var reader = new PdfReader(pdf);
+            StringBuilder text = new StringBuilder();
+            for (int page = 1; page <= reader.getNumberOfPages(); page++) {
+                text.append(PdfTextExtractor.getTextFromPage(reader, page)).append('\n');
+            }
+            Assertions.assertTrue(text.toString().contains("Balance total de reportLongMember0 test -250.0"));
+        } finally {
+            movementRepository.deleteAll(movements);
+            memberRepository.deleteAll(members);
+        }
+    }
+
+    @Test
+    @DisplayName("Balance PDF is not modified until the ledger changes")
+    void balancePdfNotModifiedUntilLedgerChanges() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+        ledgerVersion.bump();
+
+        var first = balancePdf();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotNull(etag);
+        Assertions.assertEquals(etag, balancePdf().getHeader(HttpHeaders.ETAG));
+
+        var statistics = startStatistics();
+        var notModified =
+                mockMvc
+                        .perform(get("/v1/reports/balance_pdf")
+                                .header("Authorization", "Bearer " + adminToken)
+                                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                        .andExpect(status().isNotModified())
+                        .andReturn()
+                        .getResponse();
+        // Only the authenticated member lookup, the ETag comes from the ledger version
+        Assertions.assertEquals(1, statistics.getPrepareStatementCount());
+        Assertions.assertEquals(0, notModified.getContentAsByteArray().length);
+
+        // Member flags are member writes too
+        var admin = memberRepository.findByNameAndSurname(adminUser, adminUser).orElseThrow();
+        mockMvc
+                .perform(
+                        patch("/v1/members/" + admin.getId() + "/injured")
+                                .header("Authorization", "Bearer " + adminToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new RequestInjuredDto(admin.isInjured()))))
+                .andExpect(status().isOk());
+        String memberEtag = balancePdf().getHeader(HttpHeaders.ETAG);
+        Assertions.assertNotEquals(etag, memberEtag);
+        etag = memberEtag;
+
+        mockMvc
+                .perform(
+                        post("/v1/team/movements")
+                                .header("Authorization", "Bearer " + adminToken)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                        new CreateTeamMovementDto(MovementType.EXPENSE, -5, "reportCacheTest"))))
+                .andExpect(status().isCreated());
+        var movement = teamMovementRepository.findAll().stream()
+                .filter(entity -> entity.getDescription().equals("reportCacheTest"))
+                .findFirst()
+                .orElseThrow();
+        try {
+            var started =
+                    mockMvc
+                            .perform(get("/v1/reports/balance_pdf")
+                                    .header("Authorization", "Bearer " + adminToken)
+                                    .header(HttpHeaders.IF_NONE_MATCH, etag))
+                            .andExpect(request().asyncStarted())
+                            .andReturn();
+            mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+            Assertions.assertNotEquals(etag, started.getResponse().getHeader(HttpHeaders.ETAG));
+        } finally {
+            mockMvc
+                    .perform(delete("/v1/team/movements/" + movement.getId())
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk());
+        }
+    }
+
+    @Test
+    @DisplayName("Balance PDF rendered by a report job")
+    void balancePdfJob() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+        ledgerVersion.bump();
+
+        var job = createJob(ReportType.BALANCE_PDF, null);
+        Assertions.assertEquals(ReportType.BALANCE_PDF, job.type());
+
+        // An identical request against the same ledger joins the running or finished job
+        var same = createJob(ReportType.BALANCE_PDF, Map.of());
+        Assertions.assertEquals(job.id(), same.id());
+
+        var finished = awaitJob(job.id());
+        Assertions.assertEquals(ReportJobStatus.DONE, finished.status());
+        Assertions.assertEquals(100, finished.progress());
+
+        var content = jobContent(job.id());
+        Assertions.assertTrue(new String(content, 0, 4, StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+
+        // A new ledger version needs a new job
+        ledgerVersion.bump();
+        var next = createJob(ReportType.BALANCE_PDF, Map.of());
+        Assertions.assertNotEquals(job.id(), next.id());
+        awaitJob(next.id());
+    }
+
+    @Test
+    @DisplayName("Report job with parameters the report doesn't take")
+    void reportJobWithUnknownParameters() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+
+        mockMvc
+                .perform(
+                        post("/v1/reports/jobs")
+                                .header("Authorization", "Bearer " + adminToken)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                        new CreateReportJobDto(ReportType.BALANCE_PDF, Map.of("memberId", "1")))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Report job not found")
+    void reportJobNotFound() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+
+        mockMvc
+                .perform(get("/v1/reports/jobs/unknown").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+        mockMvc
+                .perform(get("/v1/reports/jobs/unknown/content").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Statement PDF of a member and of the logged member")
+    void memberStatementPdf() throws Exception {
+        if (token == null) loginWithUser("reportStatementUser");
+        var member = memberRepository.findByNameAndSurname("reportStatementUser", "reportStatementUser").orElseThrow();
+        var movements = movementRepository.saveAll(
+                List.of(
+                        MovementEntity.builder()
+                                .memberId(member.getId())
+                                .type(MovementType.EXPENSE)
+                                .amount(-20)
+                                .description("Annual pay")
+                                .build(),
+                        MovementEntity.builder()
+                                .memberId(member.getId())
+                                .type(MovementType.INCOME)
+                                .amount(15)
+                                .description("Payment")
+                                .build()));
+        try {
+            var byId =
+                    mockMvc
+                            .perform(get("/v1/reports/members/" + member.getId() + "/statement")
+                                    .header("Authorization", "Bearer " + token))
+                            .andExpect(status().isOk())
+                            .andReturn()
+                            .getResponse();
+            Assertions.assertEquals(MediaType.APPLICATION_PDF_VALUE, byId.getContentType());
+            Assertions.assertTrue(
+                    new String(byId.getContentAsByteArray(), 0, 4, StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+
+            var mine =
+                    mockMvc
+                            .perform(get("/v1/reports/members/me/statement").header("Authorization", "Bearer " + token))
+                            .andExpect(status().isOk())
+                            .andReturn()
+                            .getResponse();
+            Assertions.assertTrue(
+                    new String(mine.getContentAsByteArray(), 0, 4, StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+
+            mockMvc
+                    .perform(get("/v1/reports/members/" + Long.MAX_VALUE + "/statement")
+                            .header("Authorization", "Bearer " + token))
+                    .andExpect(status().isNotFound());
+        } finally {
+            movementRepository.deleteAll(movements);
+            memberRepository.delete(member);
+        }
+    }
+
+    @Test
+    @DisplayName("Balance as CSV and XLSX runs the same queries as the PDF")
+    void balanceSpreadsheetFormats() throws Exception {
+        List<MemberEntity> members = new ArrayList<>();
+        List<MovementEntity> movements = new ArrayList<>();
+        try {
+            if (adminToken == null) loginWithAdmin();
+
+            addMembersWithMovements("reportSpreadsheetMember", 2, members, movements);
+            ledgerVersion.bump();
+
+            var statistics = startStatistics();
+            var csv = balanceStream("csv");
+            // Authenticated member lookup, members, member movements and team movements
+            Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+            Assertions.assertTrue(csv.getContentType().startsWith("text/csv"));
+            var lines = csv.getContentAsString(StandardCharsets.UTF_8).split("\n");
+            Assertions.assertEquals("section,member,createdOn,description,amount", lines[0]);
+            Assertions.assertTrue(List.of(lines).contains(
+                    "member,reportSpreadsheetMember0 test," + movements.get(0).getCreatedOn() + ",Annual pay,-10.0"));
+
+            statistics = startStatistics();
+            var xlsx = balanceStream("XLSX");
+            Assertions.assertEquals(4, statistics.getPrepareStatementCount());
+            Assertions.assertEquals(
+                    "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", xlsx.getContentType());
+            Assertions.assertTrue(
+                    new String(xlsx.getContentAsByteArray(), 0, 2, StandardCharsets.ISO_8859_1).startsWith("PK"));
+
+            mockMvc
+                    .perform(get("/v1/reports/balance?format=pdf").header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PDF));
+            mockMvc
+                    .perform(get("/v1/reports/balance?format=json").header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.title").value("Unsupported report format"));
+            mockMvc
+                    .perform(get("/v1/reports/balance?format=docx").header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest());
+        } finally {
+            movementRepository.deleteAll(movements);
+            memberRepository.deleteAll(members);
+        }
+    }
+
+    private MockHttpServletResponse balanceStream(String format) throws Exception {
+        var started =
+                mockMvc
+                        .perform(get("/v1/reports/balance?format=" + format)
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        return started.getResponse();
+    }
+
+    @Test
+    @DisplayName("Treasury report grouped by month and year over live and archived movements")
+    void treasuryReport() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+        var member = memberRepository.save(
+                MemberEntity.builder()
+                        .name("reportTreasuryMember")
+                        .surname("test")
+                        .phone("")
+                        .role(Role.USER)
+                        .password("")
+                        .build());
+        List<MovementArchiveEntity> archived = List.of();
+        TeamMovementArchiveEntity archivedTeam = null;
+        try {
+            // Dates far in the past, so the report range only sees these rows
+            archived = movementArchiveRepository.saveAll(
+                    List.of(
+                            archivedMovement(Long.MAX_VALUE, member.getId(), MovementType.INCOME, 100,
+                                    SeasonService.OPENING_BALANCE_DESCRIPTION + 1997, LocalDate.of(1999, 3, 1), null),
+                            archivedMovement(Long.MAX_VALUE - 1, member.getId(), MovementType.EXPENSE, -30,
+                                    "Annual pay", LocalDate.of(1999, 3, 10), 1998),
+                            archivedMovement(Long.MAX_VALUE - 2, member.getId(), MovementType.EXPENSE, -5,
+                                    MatchService.MATCH_FINE_DESCRIPTION + "20/03/99", LocalDate.of(1999, 3, 20), null),
+                            archivedMovement(Long.MAX_VALUE - 3, member.getId(), MovementType.INCOME, 30,
+                                    "Payment", LocalDate.of(1999, 4, 2), null)));
+            archivedTeam = teamMovementArchiveRepository.save(
+                    TeamMovementArchiveEntity.builder()
+                            .id(Long.MAX_VALUE)
+                            .season(1998)
+                            .type(MovementType.EXPENSE)
+                            .amount(-50)
+                            .description("Pitch")
+                            .createdOn(LocalDate.of(1999, 3, 15))
+                            .build());
+            // A fine, a fee charged before fee seasons existed and a charge added by hand
+            jdbcTemplate.update(
+                    "INSERT INTO movement_entity (type, member_id, amount, description, created_on) VALUES "
+                            + "(0, ?, -2, ?, DATE '1999-04-11'), "
+                            + "(0, ?, -70, ?, DATE '1999-04-12'), "
+                            + "(0, ?, -8, 'Camiseta', DATE '1999-04-13')",
+                    member.getId(), MatchService.MATCH_FINE_DESCRIPTION + "11/04/99",
+                    member.getId(), MovementService.ANNUAL_FEE_DESCRIPTION,
+                    member.getId());
+            jdbcTemplate.update(
+                    "INSERT INTO team_movement_entity (type, amount, description, created_on) VALUES "
+                            + "(1, 20, 'Sponsor', DATE '1999-04-10')");
+
+            var statistics = startStatistics();
+            var monthly = treasuryReport("month");
+            // Authenticated member lookup and one grouped query per movement table
+            Assertions.assertEquals(5, statistics.getPrepareStatementCount());
+            Assertions.assertEquals(
+                    List.of(
+                            new TreasuryPeriodDto("1999-03", 0, -50, 0, -5, -30, 0, -50),
+                            new TreasuryPeriodDto("1999-04", 20, 0, 30, -2, -70, -8, 50)),
+                    monthly.periods());
+            Assertions.assertEquals(new TreasuryPeriodDto("Total", 20, -50, 30, -7, -100, -8, 0), monthly.total());
+
+            var yearly = treasuryReport("year");
+            Assertions.assertEquals(
+                    List.of(new TreasuryPeriodDto("1999", 20, -50, 30, -7, -100, -8, 0)), yearly.periods());
+
+            var pdf =
+                    mockMvc
+                            .perform(get("/v1/reports/treasury?from=1999-01-01&to=1999-12-31&format=pdf")
+                                    .header("Authorization", "Bearer " + adminToken))
+                            .andExpect(status().isOk())
+                            .andReturn()
+                            .getResponse();
+            Assertions.assertEquals(MediaType.APPLICATION_PDF_VALUE, pdf.getContentType());
+            Assertions.assertTrue(
+                    new String(pdf.getContentAsByteArray(), 0, 4, StandardCharsets.ISO_8859_1).startsWith("%PDF"));
+
+            mockMvc
+                    .perform(get("/v1/reports/treasury?granularity=week")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+            mockMvc
+                    .perform(get("/v1/reports/treasury?format=xlsx")
+                            .header("Authorization", "Bearer " + adminToken))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.title").value("Unsupported report format"));
+        } finally {
+            movementArchiveRepository.deleteAll(archived);
+            if (archivedTeam != null) teamMovementArchiveRepository.delete(archivedTeam);
+            jdbcTemplate.update("DELETE FROM movement_entity WHERE member_id = ?", member.getId());
+            jdbcTemplate.update("DELETE FROM team_movement_entity WHERE created_on < DATE '2000-01-01'");
+            memberRepository.delete(member);
+        }
+    }
+
+    private TreasuryReportDto treasuryReport(String granularity) throws Exception {
+        var content =
+                mockMvc
+                        .perform(get("/v1/reports/treasury?from=1999-01-01&to=1999-12-31&granularity=" + granularity)
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString();
+        return objectMapper.readValue(content, TreasuryReportDto.class);
+    }
+
+    private static MovementArchiveEntity archivedMovement(long id, long memberId, MovementType type, double amount,
+                                                          String description, LocalDate createdOn, Integer feeSeason) {
+        return MovementArchiveEntity.builder()
+                .id(id)
+                .season(1998)
+                .memberId(memberId)
+                .type(type)
+                .amount(amount)
+                .description(description)
+                .createdOn(createdOn)
+                .feeSeason(feeSeason)
+                .build();
+    }
+}
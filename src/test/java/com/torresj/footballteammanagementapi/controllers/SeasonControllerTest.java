@@ -0,0 +1,227 @@
+package com.torresj.footballteammanagementapi.controllers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.torresj.footballteammanagementapi.dtos.*;
+import com.torresj.footballteammanagementapi.entities.MemberEntity;
+import com.torresj.footballteammanagementapi.entities.MovementEntity;
+import com.torresj.footballteammanagementapi.enums.MovementType;
+import com.torresj.footballteammanagementapi.enums.Role;
+import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
+import com.torresj.footballteammanagementapi.repositories.*;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.json.JSONObject;
+import org.junit.jupiter.api.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+public class SeasonControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MemberRepository memberRepository;
+    @Autowired
+    private MovementRepository movementRepository;
+    @Autowired
+    private TeamMovementRepository teamMovementRepository;
+    @Autowired
+    private MovementArchiveRepository movementArchiveRepository;
+    @Autowired
+    private TeamMovementArchiveRepository teamMovementArchiveRepository;
+    @Autowired
+    private SeasonRepository seasonRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TreasuryService treasuryService;
+
+    @Value("${admin.user}")
+    private String adminUser;
+
+    @Value("${admin.password}")
+    private String adminPassword;
+
+    private String adminToken;
+
+    private void loginWithAdmin() throws Exception {
+        var member =
+                memberRepository
+                        .findByNameAndSurname(adminUser, adminUser)
+                        .orElseThrow(() -> new MemberNotFoundException(""));
+
+        var result =
+                mockMvc
+                        .perform(
+                                MockMvcRequestBuilders.post("/v1/login")
+                                        .accept(MediaType.APPLICATION_JSON)
+                                        .contentType(MediaType.APPLICATION_JSON)
+                                        .content(
+                                                objectMapper.writeValueAsString(
+                                                        new RequestLoginDto(
+                                                                adminUser + "." + adminUser,
+                                                                adminPassword,
+                                                                member.getNonce() + 1))))
+                        .andExpect(status().isOk());
+        var content = result.andReturn().getResponse().getContentAsString();
+        ResponseLoginDto response = objectMapper.readValue(content, ResponseLoginDto.class);
+        adminToken = response.jwt();
+    }
+
+    private TotalBalanceDto teamBalance() throws Exception {
+        var content = mockMvc
+                .perform(get("/v1/team/movements/balance").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(content, TotalBalanceDto.class);
+    }
+
+    private List<MovementEntity> movementsOf(MemberEntity member) {
+        return movementRepository.findByMemberId(member.getId(), Sort.by(Sort.Direction.ASC, "createdOn"));
+    }
+
+    @Test
+    @DisplayName("Close a season")
+    void closeSeason() throws Exception {
+        var members = memberRepository.saveAll(
+                List.of(
+                        MemberEntity.builder().name("seasonClose1").surname("test").phone("").role(Role.USER).password("").build(),
+                        MemberEntity.builder().name("seasonClose2").surname("test").phone("").role(Role.USER).password("").build()));
+        long first = members.get(0).getId();
+        long second = members.get(1).getId();
+        jdbcTemplate.update(
+                "INSERT INTO movement_entity (type, member_id, amount, description, created_on) VALUES "
+                        + "(1, ?, 10, 'Pago', DATE '1990-03-01'), "
+                        + "(0, ?, -30, 'Cuota', DATE '1990-04-01'), "
+                        + "(1, ?, 15, 'Pago', DATE '1990-05-01'), "
+                        + "(0, ?, -1, 'Multa', DATE '1991-02-01')",
+                first, first, second, first);
+        jdbcTemplate.update(
+                "INSERT INTO team_movement_entity (type, amount, description, created_on) VALUES "
+                        + "(0, -8, 'Balones', DATE '1990-05-01')");
+
+        // Rows inserted with JDBC skip the treasury deltas
+        treasuryService.recompute();
+
+        if (adminToken == null) loginWithAdmin();
+        var balanceBefore = teamBalance();
+
+        var result =
+                mockMvc
+                        .perform(
+                                post("/v1/seasons/1990/close?nextSeasonStart=1991-01-01")
+                                        .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        var season = objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), SeasonDto.class);
+
+        Assertions.assertEquals(3, season.archivedMovements());
+        Assertions.assertEquals(1, season.archivedTeamMovements());
+
+        // Live tables only keep the new season plus one opening movement per member and for the team
+        var firstMovements = movementsOf(members.get(0));
+        Assertions.assertEquals(List.of(-20.0, -1.0), firstMovements.stream().map(MovementEntity::getAmount).toList());
+        Assertions.assertEquals(MovementType.EXPENSE, firstMovements.get(0).getType());
+        Assertions.assertEquals(LocalDate.of(1991, 1, 1), firstMovements.get(0).getCreatedOn());
+        var secondMovements = movementsOf(members.get(1));
+        Assertions.assertEquals(List.of(15.0), secondMovements.stream().map(MovementEntity::getAmount).toList());
+        Assertions.assertEquals(MovementType.INCOME, secondMovements.get(0).getType());
+
+        var balanceAfter = teamBalance();
+        Assertions.assertEquals(
+                balanceBefore.totalExpenses() + balanceBefore.totalIncomes(),
+                balanceAfter.totalExpenses() + balanceAfter.totalIncomes(),
+                0.001);
+
+        // Archived rows stay readable
+        result =
+                mockMvc
+                        .perform(
+                                get("/v1/seasons/1990/movements?page=0&elements=10")
+                                        .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        var content = result.andReturn().getResponse().getContentAsString();
+        List<MovementDto> archived =
+                objectMapper.readValue(new JSONObject(content).getString("content"), new TypeReference<>() {
+                });
+        Assertions.assertEquals(3, archived.size());
+        Assertions.assertEquals("seasonClose2 test", archived.get(0).memberName());
+
+        result =
+                mockMvc
+                        .perform(
+                                get("/v1/seasons/1990/team/movements")
+                                        .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        List<MovementDto> archivedTeam =
+                objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), new TypeReference<>() {
+                });
+        Assertions.assertEquals(List.of(-8.0), archivedTeam.stream().map(MovementDto::amount).toList());
+
+        mockMvc
+                .perform(
+                        post("/v1/seasons/1990/close?nextSeasonStart=1991-01-01")
+                                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        // The next season has to start after the last closed one and not in the future
+        mockMvc
+                .perform(
+                        post("/v1/seasons/1991/close?nextSeasonStart=1990-06-01")
+                                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+        mockMvc
+                .perform(
+                        post("/v1/seasons/1991/close?nextSeasonStart=" + LocalDate.now().plusDays(1))
+                                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        movementRepository.deleteAll(movementsOf(members.get(0)));
+        movementRepository.deleteAll(movementsOf(members.get(1)));
+        jdbcTemplate.update("DELETE FROM team_movement_entity WHERE created_on = DATE '1991-01-01'");
+        movementArchiveRepository.deleteAllInBatch();
+        teamMovementArchiveRepository.deleteAllInBatch();
+        seasonRepository.deleteAll();
+        memberRepository.deleteAll(members);
+    }
+
+    @Test
+    @DisplayName("Get movements of a season that isn't closed")
+    void getMovementsSeasonNotFound() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+
+        mockMvc
+                .perform(
+                        get("/v1/seasons/1900/movements?page=0&elements=10")
+                                .header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("Close a season without admin role")
+    void closeSeasonNotAdmin() throws Exception {
+        mockMvc
+                .perform(post("/v1/seasons/1990/close"))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -1,6 +1,7 @@
 package com.torresj.footballteammanagementapi.controllers;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.core.type.TypeReference;
@@ -14,9 +15,12 @@ import com.torresj.footballteammanagementapi.enums.Role;
 import com.torresj.footballteammanagementapi.exceptions.MemberNotFoundException;
 import com.torresj.footballteammanagementapi.repositories.MemberRepository;
 import com.torresj.footballteammanagementapi.repositories.MovementRepository;
+import java.util.ArrayList;
 import java.util.List;
 
 import com.torresj.footballteammanagementapi.repositories.TeamMovementRepository;
+import com.torresj.footballteammanagementapi.search.MovementSearchIndex;
+import com.torresj.footballteammanagementapi.services.TreasuryService;
 import org.json.JSONObject;
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +29,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -47,6 +52,12 @@ public class TeamMovementControllerTest {
     private TeamMovementRepository teamMovementRepository;
     @Autowired
     private PasswordEncoder passwordEncoder;
+    @Autowired
+    private MovementSearchIndex movementSearchIndex;
+    @Autowired
+    private TreasuryService treasuryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Value("${admin.user}")
     private String adminUser;
@@ -147,11 +158,194 @@ public class TeamMovementControllerTest {
                         .andExpect(status().isOk());
 
         var content = result.andReturn().getResponse().getContentAsString();
-        List<MovementDto> movements =
-                objectMapper.readValue(content, new TypeReference<>() {
+        var movements = objectMapper.readValue(content, MovementSliceDto.class);
+
+        Assertions.assertEquals(4, movements.content().size());
+        Assertions.assertFalse(movements.hasNext());
+        teamMovementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Get movements filtered by description")
+    void getMovementsFilteredByDescription() throws Exception {
+        var movements = teamMovementRepository.saveAll(
+                List.of(
+                        TeamMovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Balones nuevos")
+                                .build(),
+                        TeamMovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Balón")
+                                .build(),
+                        TeamMovementEntity.builder()
+                                .amount(10)
+                                .type(MovementType.INCOME)
+                                .description("Patrocinio")
+                                .build()));
+
+        if (adminToken == null) loginWithAdmin();
+
+        // Filtered requests are sliced with the same cursor as the unfiltered listing
+        List<Long> found = new ArrayList<>();
+        String after = null;
+        do {
+            var request = get("/v1/team/movements?filter=balon&limit=1")
+                    .header("Authorization", "Bearer " + adminToken);
+            if (after != null) request.param("after", after);
+            var slice = objectMapper.readValue(
+                    mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString(),
+                    MovementSliceDto.class);
+            Assertions.assertTrue(slice.content().size() <= 1);
+            slice.content().forEach(movement -> found.add(movement.id()));
+            after = slice.next();
+        } while (after != null);
+
+        Assertions.assertEquals(List.of(movements.get(0).getId(), movements.get(1).getId()), found);
+        teamMovementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Get a page of movements filtered by description sorted by relevance")
+    void getMovementsByRelevance() throws Exception {
+        var movements = teamMovementRepository.saveAll(
+                List.of(
+                        TeamMovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Balones nuevos")
+                                .build(),
+                        TeamMovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Balón")
+                                .build(),
+                        TeamMovementEntity.builder()
+                                .amount(-10)
+                                .type(MovementType.EXPENSE)
+                                .description("Bolsa de balones")
+                                .build()));
+
+        if (adminToken == null) loginWithAdmin();
+
+        var result =
+                mockMvc
+                        .perform(get("/v1/team/movements?elements=2&page=0&filter=balon")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+
+        var content = result.andReturn().getResponse().getContentAsString();
+        List<MovementDto> page =
+                objectMapper.readValue(new JSONObject(content).getString("content"), new TypeReference<>() {
                 });
 
-        Assertions.assertEquals(4, movements.size());
+        // The exact token match comes before the partial matches, newest first on a tie
+        Assertions.assertEquals(3, new JSONObject(content).getInt("totalElements"));
+        Assertions.assertEquals(
+                List.of(movements.get(1).getId(), movements.get(2).getId()),
+                page.stream().map(MovementDto::id).toList());
+        teamMovementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Get movements filtered by type and dates")
+    void getMovementsFilteredByTypeAndDates() throws Exception {
+        jdbcTemplate.update(
+                "INSERT INTO team_movement_entity (type, amount, description, created_on) VALUES "
+                        + "(0, -8, 'Balones', DATE '2020-05-01'), "
+                        + "(1, 20, 'Patrocinio balones', DATE '2020-06-01'), "
+                        + "(0, -4, 'Agua', DATE '2021-01-01')");
+        // Rows inserted with a given date skip the entity listener
+        movementSearchIndex.rebuildTeamMovements();
+
+        if (adminToken == null) loginWithAdmin();
+
+        var result =
+                mockMvc
+                        .perform(get("/v1/team/movements?type=EXPENSE&from=2020-01-01&to=2020-12-31")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        var slice = objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), MovementSliceDto.class);
+        Assertions.assertEquals(List.of("Balones"), slice.content().stream().map(MovementDto::description).toList());
+
+        result =
+                mockMvc
+                        .perform(get("/v1/team/movements?filter=balones&type=INCOME")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk());
+        slice = objectMapper.readValue(result.andReturn().getResponse().getContentAsString(), MovementSliceDto.class);
+        Assertions.assertEquals(List.of("Patrocinio balones"), slice.content().stream().map(MovementDto::description).toList());
+
+        teamMovementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Walk movements with a cursor between two dates")
+    void getMovementsWithCursor() throws Exception {
+        jdbcTemplate.update(
+                "INSERT INTO team_movement_entity (type, amount, description, created_on) "
+                        + "SELECT 0, -X, 'Gasto ' || X, DATEADD(DAY, X - 1, DATE '2020-01-01') FROM SYSTEM_RANGE(1, 5)");
+        jdbcTemplate.update(
+                "INSERT INTO team_movement_entity (type, amount, description, created_on) VALUES "
+                        + "(0, -10, 'Gasto fuera de rango', DATE '2020-02-01')");
+
+        if (adminToken == null) loginWithAdmin();
+
+        List<String> dates = new ArrayList<>();
+        String after = null;
+        int requests = 0;
+        do {
+            var request = get("/v1/team/movements?limit=2&from=2020-01-02&to=2020-01-31")
+                    .header("Authorization", "Bearer " + adminToken);
+            if (after != null) request.param("after", after);
+            var slice = objectMapper.readValue(
+                    mockMvc.perform(request).andExpect(status().isOk()).andReturn().getResponse().getContentAsString(),
+                    MovementSliceDto.class);
+            slice.content().forEach(movement -> dates.add(movement.createdOn()));
+            after = slice.next();
+            requests++;
+        } while (after != null);
+
+        Assertions.assertEquals(List.of("2020-01-02", "2020-01-03", "2020-01-04", "2020-01-05"), dates);
+        Assertions.assertEquals(2, requests);
+
+        mockMvc
+                .perform(get("/v1/team/movements?after=notACursor").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isBadRequest());
+
+        teamMovementRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("Export movements as CSV")
+    void exportMovements() throws Exception {
+        jdbcTemplate.update(
+                "INSERT INTO team_movement_entity (type, amount, description, created_on) VALUES "
+                        + "(0, -8, 'Balones, \"reglamentarios\"', DATE '2020-05-01'), "
+                        + "(1, 20, 'Patrocinio', DATE '2021-06-01')");
+
+        if (adminToken == null) loginWithAdmin();
+
+        var started =
+                mockMvc
+                        .perform(get("/v1/team/movements/export?format=csv&to=2020-12-31")
+                                .header("Authorization", "Bearer " + adminToken))
+                        .andExpect(request().asyncStarted())
+                        .andReturn();
+        mockMvc.perform(asyncDispatch(started)).andExpect(status().isOk());
+        var lines = started.getResponse().getContentAsString().lines().toList();
+
+        Assertions.assertEquals(2, lines.size());
+        Assertions.assertEquals("id,type,amount,description,createdOn", lines.get(0));
+        Assertions.assertTrue(lines.get(1).endsWith(",EXPENSE,-8.0,\"Balones, \"\"reglamentarios\"\"\",2020-05-01"));
+
+        if (token == null) loginWithUser("teamUserTest8");
+        mockMvc
+                .perform(get("/v1/team/movements/export").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+
         teamMovementRepository.deleteAll();
     }
 
@@ -190,11 +384,10 @@ public class TeamMovementControllerTest {
                         .andExpect(status().isOk());
 
         var content = result.andReturn().getResponse().getContentAsString();
-        List<MovementDto> movements =
-                objectMapper.readValue(content, new TypeReference<>() {
-                });
+        var movements = objectMapper.readValue(content, MovementSliceDto.class);
 
-        Assertions.assertEquals(4, movements.size());
+        Assertions.assertEquals(4, movements.content().size());
+        Assertions.assertFalse(movements.hasNext());
         teamMovementRepository.deleteAll();
     }
 
@@ -383,7 +576,8 @@ public class TeamMovementControllerTest {
                                 .type(MovementType.INCOME)
                                 .description("")
                                 .build()));
-
+        // Rows saved through the repositories skip the treasury deltas
+        treasuryService.recompute();
 
         if (token == null) loginWithUser("teamUserTest6");
 
@@ -403,6 +597,67 @@ public class TeamMovementControllerTest {
         teamMovementRepository.deleteAll(teamMovements);
     }
 
+    @Test
+    @DisplayName("Treasury totals follow every write")
+    void treasuryTotalsFollowWrites() throws Exception {
+        if (adminToken == null) loginWithAdmin();
+
+        var baseline = objectMapper.readValue(
+                mockMvc
+                        .perform(post("/v1/team/movements/balance/recompute").header("Authorization", "Bearer " + adminToken))
+                        .andExpect(status().isOk())
+                        .andReturn()
+                        .getResponse()
+                        .getContentAsString(),
+                TreasuryTotalsDto.class);
+
+        mockMvc
+                .perform(
+                        post("/v1/team/movements")
+                                .header("Authorization", "Bearer " + adminToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(
+                                        new CreateTeamMovementDto(MovementType.EXPENSE, -10, "Tesorería"))))
+                .andExpect(status().isCreated());
+        Assertions.assertEquals(baseline.teamExpenses() - 10, getBalance().totalExpenses());
+
+        var id = teamMovementRepository.findAll().stream()
+                .filter(movement -> "Tesorería".equals(movement.getDescription()))
+                .findFirst()
+                .orElseThrow()
+                .getId();
+        mockMvc
+                .perform(
+                        patch("/v1/team/movements/" + id)
+                                .header("Authorization", "Bearer " + adminToken)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(new UpdateMovementDto(-4, "Tesorería"))))
+                .andExpect(status().isOk());
+        Assertions.assertEquals(baseline.teamExpenses() - 4, getBalance().totalExpenses());
+
+        mockMvc
+                .perform(delete("/v1/team/movements/" + id).header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk());
+        var balance = getBalance();
+        Assertions.assertEquals(baseline.teamExpenses(), balance.totalExpenses());
+        Assertions.assertEquals(baseline.teamIncomes() + baseline.memberIncomes(), balance.totalIncomes());
+
+        if (token == null) loginWithUser("teamUserTest9");
+        mockMvc
+                .perform(post("/v1/team/movements/balance/recompute").header("Authorization", "Bearer " + token))
+                .andExpect(status().isForbidden());
+    }
+
+    private TotalBalanceDto getBalance() throws Exception {
+        var content = mockMvc
+                .perform(get("/v1/team/movements/balance").header("Authorization", "Bearer " + adminToken))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(content, TotalBalanceDto.class);
+    }
+
     @Test
     @DisplayName("Delete movement")
     void deleteMovement() throws Exception {